@@ -1,7 +1,9 @@
 plugins {
     java
     id("org.springframework.boot") version "3.5.0"
+    id("org.springframework.boot.aot") version "3.5.0" apply false
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
     jacoco
 }
 
@@ -28,8 +30,19 @@ dependencies {
     // --- Implementation dependencies ---
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.flywaydb:flyway-core")
+    // --- Binary response formats (CBOR, Smile) ---
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
     implementation("jakarta.validation:jakarta.validation-api:3.0.2")
     implementation("org.hibernate.validator:hibernate-validator:8.0.1.Final")
+    // --- Tenant claim of HMAC-signed bearer tokens ---
+    implementation("com.nimbusds:nimbus-jose-jwt")
     // --- Swagger/OpenAPI ---
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.8")
 
@@ -42,11 +55,16 @@ dependencies {
 
     // --- Runtime only ---
     runtimeOnly("org.postgresql:postgresql")
+    runtimeOnly("org.flywaydb:flyway-database-postgresql")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     // --- Test dependencies ---
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("com.h2database:h2")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // --- Benchmark dependencies ---
+    jmh("com.h2database:h2")
 }
 
 tasks.withType<Test> {
@@ -81,3 +99,26 @@ tasks.jacocoTestCoverageVerification {
 tasks.check {
     dependsOn(tasks.jacocoTestCoverageVerification)
 }
+
+// Run with ./gradlew jmh; pass -PjmhIncludes=<regex> to select benchmarks and
+// -PjmhProfilers=gc (comma-separated) to attach JMH profilers, e.g. for allocation per operation
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    if (project.hasProperty("jmhIncludes")) {
+        includes = listOf(project.property("jmhIncludes").toString())
+    }
+    if (project.hasProperty("jmhProfilers")) {
+        profilers = project.property("jmhProfilers").toString().split(",")
+    }
+}
+
+// Fast-startup build: ./gradlew bootJar -Paot adds Spring AOT bean definitions to the jar; run it with
+// -Dspring.aot.enabled=true. Conditions are evaluated at build time, against the prod profile
+if (project.hasProperty("aot")) {
+    apply(plugin = "org.springframework.boot.aot")
+    tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+        args("--spring.profiles.active=prod")
+    }
+}
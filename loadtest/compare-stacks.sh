@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Runs the lookup load test (10k concurrent clients by default) against the servlet app and the
+# reactive variant in turn, sampling database connections in use, live threads, heap and RSS
+# while it runs, and prints the peaks next to throughput and latency.
+#
+# Prerequisites: k6, jq and curl on PATH, Postgres running and migrated (docker-compose up -d db migrate),
+# SPRING_DATASOURCE_* exported, and both jars built with ./gradlew bootJar.
+# Both stacks get the same pool size (DB_POOL_SIZE, default 20). The servlet app's rate limiter and
+# load shedder are switched off so neither stack rejects load the other would serve.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+SERVLET_JAR=build/libs/todotask-0.0.1-SNAPSHOT.jar
+REACTIVE_JAR=reactive/build/libs/reactive-0.0.1-SNAPSHOT.jar
+OUT=build/loadtest
+VUS=${VUS:-10000}
+DURATION=${DURATION:-60s}
+mkdir -p "$OUT"
+
+metric() {
+  # Current value of an actuator metric, or 0 if the meter does not exist
+  curl -sf "http://localhost:$1/actuator/metrics/$2${3:+?tag=$3}" | jq -r '.measurements[0].value // 0' 2>/dev/null || echo 0
+}
+
+start() {
+  local jar=$1 port=$2 name=$3
+  shift 3
+  java -jar "$jar" --server.port="$port" --logging.level.com.shubhajit.todotask=WARN "$@" \
+    > "$OUT/$name-app.log" 2>&1 &
+  APP_PID=$!
+  until curl -sf "http://localhost:$port/actuator/health" > /dev/null; do sleep 1; done
+}
+
+stop() {
+  kill "$APP_PID" 2>/dev/null || true
+  wait "$APP_PID" 2>/dev/null || true
+}
+
+run_stack() {
+  local name=$1 port=$2 connections_metric=$3
+  k6 run --quiet -e BASE_URL="http://localhost:$port" -e VUS="$VUS" -e DURATION="$DURATION" \
+    --summary-export "$OUT/$name-summary.json" loadtest/lookups.js > "$OUT/$name-k6.log" &
+  local k6_pid=$!
+  local peak_conns=0 peak_threads=0 peak_heap=0 peak_rss=0
+  while kill -0 "$k6_pid" 2>/dev/null; do
+    local conns threads heap rss
+    conns=$(metric "$port" "$connections_metric")
+    threads=$(metric "$port" jvm.threads.live)
+    heap=$(metric "$port" jvm.memory.used area:heap)
+    rss=$(ps -o rss= -p "$APP_PID" | tr -d ' ')
+    peak_conns=$(jq -n "[$peak_conns, $conns] | max")
+    peak_threads=$(jq -n "[$peak_threads, $threads] | max")
+    peak_heap=$(jq -n "[$peak_heap, $heap] | max")
+    peak_rss=$(jq -n "[$peak_rss, ${rss:-0}] | max")
+    sleep 2
+  done
+  wait "$k6_pid" || true
+
+  jq -r --arg name "$name" '"\($name): \(.metrics.http_reqs.rate | floor) req/s, p99 \(.metrics.http_req_duration["p(99)"]) ms, failed \(.metrics.http_req_failed.value * 100) %"' \
+    "$OUT/$name-summary.json"
+  echo "$name: peak $peak_conns DB connections in use, $peak_threads live threads," \
+    "$(jq -n "$peak_heap / 1048576 | floor") MiB heap, $((peak_rss / 1024)) MiB RSS"
+}
+
+# Seed lookups through the servlet app, which owns the writes
+start "$SERVLET_JAR" 8080 servlet --todotask.limits.rate.enabled=false --todotask.limits.concurrency.enabled=false \
+  --todotask.limits.tenant-rate.enabled=false
+if [ "$(curl -sf 'http://localhost:8080/api/tasks/page?size=1' | jq '.items | length')" = 0 ]; then
+  jq -n '[range(500) | {title: "lookup-\(.)", description: "seeded by compare-stacks", completed: false}]' \
+    | curl -sf -X POST -H 'Content-Type: application/json' -d @- http://localhost:8080/api/tasks/batch > /dev/null
+fi
+trap stop EXIT
+
+echo "=== servlet (Tomcat + JDBC)"
+run_stack servlet 8080 hikaricp.connections.active
+stop
+
+echo "=== reactive (WebFlux + R2DBC)"
+start "$REACTIVE_JAR" 8081 reactive
+run_stack reactive 8081 r2dbc.pool.acquired
+stop
+trap - EXIT
@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Runs the k6 load test against the app in platform-thread and virtual-thread mode
+# and prints throughput, p99 latency and pinned-thread events for each.
+#
+# Prerequisites: k6 and jq on PATH, Postgres running (docker-compose up -d db),
+# SPRING_DATASOURCE_* exported, and the jar built with ./gradlew bootJar.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=build/libs/todotask-0.0.1-SNAPSHOT.jar
+OUT=build/loadtest
+mkdir -p "$OUT"
+
+run_mode() {
+  local mode=$1 virtual=$2
+  echo "=== $mode threads"
+  SPRING_THREADS_VIRTUAL_ENABLED=$virtual java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+    --logging.level.com.shubhajit.todotask=WARN --todotask.limits.rate.enabled=false \
+    --todotask.limits.concurrency.enabled=false --todotask.limits.tenant-rate.enabled=false \
+    > "$OUT/$mode-app.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -sf http://localhost:8080/actuator/health > /dev/null; do sleep 1; done
+
+  k6 run --quiet --summary-export "$OUT/$mode-summary.json" loadtest/tasks.js > "$OUT/$mode-k6.log"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+
+  jq -r --arg mode "$mode" '"\($mode): \(.metrics.http_reqs.rate | floor) req/s, p99 \(.metrics.http_req_duration["p(99)"]) ms, failed \(.metrics.http_req_failed.value * 100) %"' \
+    "$OUT/$mode-summary.json"
+  echo "$mode: $(grep -c 'onPinned' "$OUT/$mode-app.log" || true) pinned-thread events"
+}
+
+run_mode platform false
+run_mode virtual true
@@ -0,0 +1,41 @@
+// k6 load test comparing the servlet and reactive stacks: many concurrent clients doing task lookups,
+// each sending its next request as soon as the previous one completes.
+// Usage: k6 run -e BASE_URL=http://localhost:8081 -e VUS=10000 loadtest/lookups.js
+// At 10k VUs raise the open-files limit first (ulimit -n 65536) on both the k6 and the app host.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+  scenarios: {
+    lookups: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 10000),
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  // Lookups are served by both stacks; writes stay on the servlet app
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const res = http.get(`${BASE_URL}/api/tasks/page?size=500`);
+  // Task ids use up to 63 bits, beyond what a JavaScript number holds exactly, so keep them as strings
+  const ids = [...res.body.matchAll(/"id":"(\d+)"/g)].map((match) => match[1]);
+  if (ids.length === 0) {
+    throw new Error('No tasks to look up; seed the database first');
+  }
+  return { ids };
+}
+
+export default function (data) {
+  let res;
+  if (Math.random() < 0.9) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    res = http.get(`${BASE_URL}/api/tasks/${id}`, { tags: { name: 'get-by-id' } });
+  } else {
+    res = http.get(`${BASE_URL}/api/tasks/page?size=50`, { tags: { name: 'page' } });
+  }
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
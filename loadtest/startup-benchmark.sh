@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request (JVM launch until GET /api/tasks/page answers) in each startup mode:
+#   baseline  default profile
+#   lazy      prod profile: lazy initialization, springdoc disabled
+#   cds       prod profile with a Class Data Sharing archive
+#   aot-cds   prod profile with CDS and Spring AOT
+#
+# Prerequisites: curl on PATH, Postgres running (docker-compose up -d db), SPRING_DATASOURCE_* exported,
+# and the jar built with ./gradlew bootJar -Paot. RUNS sets the number of starts per mode (default 5).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=build/libs/todotask-0.0.1-SNAPSHOT.jar
+OUT=build/startup
+RUNS=${RUNS:-5}
+rm -rf "$OUT"
+mkdir -p "$OUT"
+
+# CDS needs an exploded classpath; the archive must be created from the same layout it is used with
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT/app" > /dev/null
+APP="$OUT/app/$(basename "$JAR")"
+
+train() {
+  local archive=$1; shift
+  SPRING_PROFILES_ACTIVE=prod java "$@" -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh \
+    -jar "$APP" > "$archive.log" 2>&1
+}
+train "$OUT/app.jsa"
+train "$OUT/app-aot.jsa" -Dspring.aot.enabled=true
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local mode=$1 profile=$2; shift 2
+  local total=0
+  for i in $(seq "$RUNS"); do
+    local start pid
+    start=$(now_ms)
+    SPRING_PROFILES_ACTIVE=$profile java "$@" -jar "$APP" > "$OUT/$mode-$i.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -sf -o /dev/null "http://localhost:8080/api/tasks/page?size=1"; do
+      kill -0 "$pid" 2>/dev/null || { echo "$mode: app exited, see $OUT/$mode-$i.log" >&2; exit 1; }
+      sleep 0.05
+    done
+    total=$(( total + $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+  done
+  echo "$mode: $(( total / RUNS )) ms to first request (mean of $RUNS)"
+}
+
+measure baseline default
+measure lazy prod
+measure cds prod -XX:SharedArchiveFile="$OUT/app.jsa"
+measure aot-cds prod -XX:SharedArchiveFile="$OUT/app-aot.jsa" -Dspring.aot.enabled=true
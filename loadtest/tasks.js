@@ -0,0 +1,52 @@
+// k6 load test for the task API: read-heavy mix of single lookups, pages and creates.
+// Usage: k6 run -e BASE_URL=http://localhost:8080 loadtest/tasks.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SEED_TASKS = Number(__ENV.SEED_TASKS || 200);
+
+export const options = {
+  scenarios: {
+    mixed: {
+      executor: 'constant-arrival-rate',
+      rate: Number(__ENV.RATE || 2000),
+      timeUnit: '1s',
+      duration: __ENV.DURATION || '60s',
+      preAllocatedVUs: Number(__ENV.VUS || 500),
+      maxVUs: Number(__ENV.MAX_VUS || 4000),
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const ids = [];
+  const runId = Date.now();
+  for (let i = 0; i < SEED_TASKS; i++) {
+    const res = http.post(`${BASE_URL}/api/tasks`,
+      JSON.stringify({ title: `load-${runId}-${i}`, description: 'seeded by k6', completed: false }),
+      { headers: { 'Content-Type': 'application/json' } });
+    if (res.status === 201) {
+      // Keep the id as a string: it can exceed the integers a JavaScript number holds exactly
+      ids.push(res.body.match(/"id":"(\d+)"/)[1]);
+    }
+  }
+  return { ids, runId };
+}
+
+export default function (data) {
+  const roll = Math.random();
+  let res;
+  if (roll < 0.8) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    res = http.get(`${BASE_URL}/api/tasks/${id}`, { tags: { name: 'get-by-id' } });
+  } else if (roll < 0.95) {
+    res = http.get(`${BASE_URL}/api/tasks/page?size=50`, { tags: { name: 'page' } });
+  } else {
+    res = http.post(`${BASE_URL}/api/tasks`,
+      JSON.stringify({ title: `load-${data.runId}-${__VU}-${__ITER}`, completed: false }),
+      { headers: { 'Content-Type': 'application/json' }, tags: { name: 'create' } });
+  }
+  check(res, { 'not a server error': (r) => r.status < 500 });
+}
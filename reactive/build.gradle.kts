@@ -0,0 +1,60 @@
+plugins {
+    java
+    id("org.springframework.boot")
+    id("io.spring.dependency-management")
+}
+
+group = "com.shubhajit"
+version = "0.0.1-SNAPSHOT"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+configurations {
+    compileOnly {
+        extendsFrom(annotationProcessor.get())
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+// Reuse the servlet app's classes (TaskDTO, TaskMapper, exceptions, cursors) without its resources
+// or its servlet/JPA dependencies
+evaluationDependsOn(":")
+val sharedClasses = project(":").extensions.getByType<SourceSetContainer>()["main"].output.classesDirs
+
+dependencies {
+    // --- Implementation dependencies ---
+    implementation(sharedClasses)
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
+    implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    // Annotations of the shared Task entity
+    implementation("jakarta.persistence:jakarta.persistence-api")
+    // Bearer token verification of the shared TenantResolver
+    implementation("com.nimbusds:nimbus-jose-jwt")
+
+    // --- Compile only ---
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor("org.projectlombok:lombok")
+
+    // --- Runtime only ---
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
+    // --- Test dependencies ---
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.projectreactor:reactor-test")
+    testRuntimeOnly("io.r2dbc:r2dbc-h2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
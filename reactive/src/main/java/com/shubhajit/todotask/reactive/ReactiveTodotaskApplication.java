@@ -0,0 +1,17 @@
+package com.shubhajit.todotask.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * WebFlux + R2DBC variant of the task read API. Scans only this package, so none of the servlet
+ * app's beans are picked up from the shared classes.
+ */
+@SpringBootApplication
+public class ReactiveTodotaskApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveTodotaskApplication.class, args);
+	}
+
+}
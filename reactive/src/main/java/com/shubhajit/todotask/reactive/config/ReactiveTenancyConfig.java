@@ -0,0 +1,27 @@
+package com.shubhajit.todotask.reactive.config;
+
+import com.shubhajit.todotask.config.TenancyProperties;
+import com.shubhajit.todotask.config.TenantResolver;
+import com.shubhajit.todotask.service.TaskShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tenant resolution and shard routing of the servlet app, from the same {@code todotask.tenancy} and
+ * {@code todotask.partitioning} properties, so both stacks agree on a request's tenant and its shard.
+ */
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class ReactiveTenancyConfig {
+    @Bean
+    public TenantResolver tenantResolver(TenancyProperties properties) {
+        return new TenantResolver(properties);
+    }
+
+    @Bean
+    public TaskShardRouter taskShardRouter(@Value("${todotask.partitioning.shards:16}") int shardCount) {
+        return new TaskShardRouter(shardCount);
+    }
+}
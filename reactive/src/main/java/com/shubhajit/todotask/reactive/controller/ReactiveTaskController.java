@@ -0,0 +1,140 @@
+package com.shubhajit.todotask.reactive.controller;
+
+import com.shubhajit.todotask.config.TenantResolver;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import com.shubhajit.todotask.reactive.service.ReactiveTaskService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux handlers for the read endpoints of {@code /api/tasks}, with the same paths, parameters,
+ * ETags and error responses as the servlet {@code TaskController}. Each request acts for the tenant
+ * resolved from its headers, as in the servlet app's tenant filter.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/tasks")
+@Slf4j
+@Validated
+public class ReactiveTaskController {
+    private final ReactiveTaskService taskService;
+    private final TenantResolver tenantResolver;
+
+    /**
+     * Get all tasks as a JSON array, streamed as rows arrive from the database.
+     * The response carries an ETag of the tenant's collection; a matching If-None-Match returns 304 without loading any task.
+     * It varies with the headers naming the tenant, so shared caches keep tenants apart.
+     *
+     * @param ifNoneMatch optional ETag from a previous response
+     * @param headers     request headers naming the tenant
+     * @return streamed array of all TaskDTOs
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Flux<TaskDTO>>> getAllTasks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader HttpHeaders headers) {
+        String tenantId = tenantOf(headers);
+        log.info("Fetching all tasks");
+        // Read the version before the data, so a concurrent write can only make the ETag older than the body
+        return taskService.getCollectionVersion(tenantId).map(version -> {
+            // Same validator as the servlet app's JSON list
+            String etag = "\"tasks-" + tenantId + "-" + version + "-json\"";
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                        .varyBy(HttpHeaders.ACCEPT, tenantResolver.getHeader(), HttpHeaders.AUTHORIZATION)
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT, tenantResolver.getHeader(), HttpHeaders.AUTHORIZATION)
+                    .body(taskService.getAllTasks(tenantId));
+        });
+    }
+
+    /**
+     * Get one page of tasks using keyset pagination.
+     *
+     * @param cursor      opaque cursor returned by the previous page (omit for the first page)
+     * @param size        page size (1..500)
+     * @param completed   optional filter on completion status
+     * @param titlePrefix optional case-insensitive title prefix filter
+     * @param headers     request headers naming the tenant
+     * @return the page of TaskDTOs and the next cursor
+     */
+    @GetMapping("/page")
+    public Mono<TaskPageDTO> getTaskPage(@RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size,
+                                         @RequestParam(required = false) Boolean completed,
+                                         @RequestParam(required = false) String titlePrefix,
+                                         @RequestHeader HttpHeaders headers) {
+        String tenantId = tenantOf(headers);
+        log.info("Fetching task page, size: {}", size);
+        return taskService.getTaskPage(tenantId, cursor, size, completed, titlePrefix);
+    }
+
+    /**
+     * Get a task by its ID.
+     * A matching If-None-Match returns 304 without a body.
+     *
+     * @param id          the task ID (must be >= 1)
+     * @param ifNoneMatch optional ETag from a previous response
+     * @param headers     request headers naming the tenant
+     * @return the TaskDTO if found
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskDTO>> getTaskById(@PathVariable @Min(1) Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                     @RequestHeader HttpHeaders headers) {
+        String tenantId = tenantOf(headers);
+        log.info("Fetching task with id: {}", id);
+        return taskService.getTaskById(tenantId, id).map(dto -> {
+            String etag = "\"" + dto.getVersion() + "\"";
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(dto);
+        });
+    }
+
+    /**
+     * Tenant the request acts for; resolving it is cheap and never blocks.
+     */
+    private String tenantOf(HttpHeaders headers) {
+        return tenantResolver.resolve(headers.getFirst(tenantResolver.getHeader()), headers.getFirst(HttpHeaders.AUTHORIZATION));
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against an ETag.
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
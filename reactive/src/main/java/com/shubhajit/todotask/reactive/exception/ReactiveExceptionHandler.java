@@ -0,0 +1,86 @@
+package com.shubhajit.todotask.reactive.exception;
+
+import com.shubhajit.todotask.exception.ApiError;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.exception.TaskNotFoundException;
+import com.shubhajit.todotask.exception.TenantUnauthorizedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.NotAcceptableStatusException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux counterpart of {@code GlobalExceptionHandler}: the same statuses and {@link ApiError} bodies.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+    // Same meter as the servlet app, so dashboards cover both stacks
+    private final Counter taskNotFoundCounter = Metrics.counter("tasks.errors", "exception", "TaskNotFoundException");
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ApiError> handleConstraintViolation(ConstraintViolationException ex, ServerWebExchange exchange) {
+        String message = ex.getConstraintViolations().stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining(", "));
+        return ResponseEntity.badRequest().body(new ApiError(HttpStatus.BAD_REQUEST, message, path(exchange)));
+    }
+
+    @ExceptionHandler(InvalidTaskRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidTaskRequest(InvalidTaskRequestException ex, ServerWebExchange exchange) {
+        return ResponseEntity.badRequest().body(new ApiError(HttpStatus.BAD_REQUEST, ex.getMessage(), path(exchange)));
+    }
+
+    @ExceptionHandler(TenantUnauthorizedException.class)
+    public ResponseEntity<ApiError> handleTenantUnauthorized(TenantUnauthorizedException ex, ServerWebExchange exchange) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                .body(new ApiError(HttpStatus.UNAUTHORIZED, ex.getMessage(), path(exchange)));
+    }
+
+    @ExceptionHandler(TaskNotFoundException.class)
+    public ResponseEntity<ApiError> handleTaskNotFound(TaskNotFoundException ex, ServerWebExchange exchange) {
+        taskNotFoundCounter.increment();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiError(HttpStatus.NOT_FOUND, ex.getMessage(), path(exchange)));
+    }
+
+    @ExceptionHandler({DataAccessResourceFailureException.class, TransientDataAccessResourceException.class,
+            QueryTimeoutException.class})
+    public ResponseEntity<ApiError> handleDatabaseUnavailable(Exception ex, ServerWebExchange exchange) {
+        ApiError error = new ApiError(HttpStatus.SERVICE_UNAVAILABLE, "Database is busy, please retry later", path(exchange));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(NotAcceptableStatusException.class)
+    public ResponseEntity<Void> handleNotAcceptable(NotAcceptableStatusException ex) {
+        // No body: none of the client's accepted formats can carry an ApiError
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiError> handleResponseStatus(ResponseStatusException ex, ServerWebExchange exchange) {
+        HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
+        return ResponseEntity.status(status).body(new ApiError(status, ex.getReason(), path(exchange)));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiError> handleOtherExceptions(Exception ex, ServerWebExchange exchange) {
+        ApiError error = new ApiError(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), path(exchange));
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    }
+
+    private static String path(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().value();
+    }
+}
@@ -0,0 +1,109 @@
+package com.shubhajit.todotask.reactive.repository;
+
+import com.shubhajit.todotask.entity.Task;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * R2DBC counterpart of the read side of {@code TaskRepository}: the same queries over the same
+ * tables, mapped onto the shared {@link Task} entity so {@code TaskMapper} applies unchanged.
+ * Every query is scoped to one tenant and names its shard, so it reads a single partition.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveTaskRepository {
+    private static final String COLUMNS =
+            "select ID, TITLE, TITLE_KEY, DESCRIPTION, COMPLETED, VERSION, CHANGE_SEQ, LAST_MODIFIED from TASK";
+
+    private static final String TENANT_SCOPE = " where SHARD = :shard and TENANT_ID = :tenantId";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Look up a task of the given tenant.
+     */
+    public Mono<Task> findById(int shard, String tenantId, long id) {
+        return databaseClient.sql(COLUMNS + TENANT_SCOPE + " and ID = :id")
+                .bind("shard", shard)
+                .bind("tenantId", tenantId)
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    /**
+     * Stream every task of a tenant in id order; rows are emitted as the driver reads them, under backpressure.
+     */
+    public Flux<Task> streamAllByOrderByIdAsc(int shard, String tenantId) {
+        return databaseClient.sql(COLUMNS + TENANT_SCOPE + " order by ID")
+                .bind("shard", shard)
+                .bind("tenantId", tenantId)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    /**
+     * Keyset page of a tenant's tasks after the given id, optionally filtered.
+     *
+     * @param shard          the tenant's shard
+     * @param tenantId       the tenant
+     * @param afterId        id of the last task on the previous page
+     * @param completed      optional filter on completion status
+     * @param titleKeyPrefix optional prefix of the normalized title
+     * @param limit          maximum number of rows
+     */
+    public Flux<Task> findPage(int shard, String tenantId, long afterId, Boolean completed, String titleKeyPrefix, int limit) {
+        StringBuilder sql = new StringBuilder(COLUMNS).append(TENANT_SCOPE).append(" and ID > :afterId");
+        if (completed != null) {
+            sql.append(" and COMPLETED = :completed");
+        }
+        if (titleKeyPrefix != null) {
+            sql.append(" and TITLE_KEY like :prefix escape '\\'");
+        }
+        sql.append(" order by ID limit :limit");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("shard", shard)
+                .bind("tenantId", tenantId)
+                .bind("afterId", afterId)
+                .bind("limit", limit);
+        if (completed != null) {
+            spec = spec.bind("completed", completed);
+        }
+        if (titleKeyPrefix != null) {
+            spec = spec.bind("prefix", escapeLike(titleKeyPrefix) + "%");
+        }
+        return spec.map(ReactiveTaskRepository::toTask).all();
+    }
+
+    public Mono<Long> findChangeCount(String tenantId) {
+        return databaseClient.sql("select CHANGE_COUNT from TASK_CHANGE_COUNTER where TENANT_ID = :tenantId")
+                .bind("tenantId", tenantId)
+                .map(row -> row.get("CHANGE_COUNT", Long.class))
+                .one();
+    }
+
+    private static Task toTask(Readable row) {
+        OffsetDateTime lastModified = row.get("LAST_MODIFIED", OffsetDateTime.class);
+        return Task.builder()
+                .id(row.get("ID", Long.class))
+                .title(row.get("TITLE", String.class))
+                .titleKey(row.get("TITLE_KEY", String.class))
+                .description(row.get("DESCRIPTION", String.class))
+                .completed(Boolean.TRUE.equals(row.get("COMPLETED", Boolean.class)))
+                .version(row.get("VERSION", Long.class))
+                .changeSeq(row.get("CHANGE_SEQ", Long.class))
+                .lastModified(lastModified == null ? null : lastModified.toInstant())
+                .build();
+    }
+
+    // Same escaping as Spring Data's derived StartingWith queries on the servlet side
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
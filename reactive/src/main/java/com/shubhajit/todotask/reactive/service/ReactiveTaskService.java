@@ -0,0 +1,91 @@
+package com.shubhajit.todotask.reactive.service;
+
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.exception.TaskNotFoundException;
+import com.shubhajit.todotask.mapper.TaskMapper;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import com.shubhajit.todotask.reactive.repository.ReactiveTaskRepository;
+import com.shubhajit.todotask.service.PageCursor;
+import com.shubhajit.todotask.service.TaskShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking read operations on a tenant's tasks, with the same results and errors as {@code TaskService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveTaskService {
+    private final ReactiveTaskRepository taskRepository;
+    private final TaskShardRouter taskShardRouter;
+
+    /**
+     * Stream all tasks of a tenant in id order.
+     *
+     * @param tenantId the tenant
+     * @return TaskDTOs, emitted as they are read
+     */
+    public Flux<TaskDTO> getAllTasks(String tenantId) {
+        log.debug("Streaming all tasks of tenant {} from repository", tenantId);
+        return taskRepository.streamAllByOrderByIdAsc(taskShardRouter.shardOf(tenantId), tenantId).map(TaskMapper::toDTO);
+    }
+
+    /**
+     * Retrieve the current version of a tenant's task collection.
+     *
+     * @param tenantId the tenant
+     * @return the collection change count
+     */
+    public Mono<Long> getCollectionVersion(String tenantId) {
+        return taskRepository.findChangeCount(tenantId).defaultIfEmpty(0L);
+    }
+
+    /**
+     * Retrieve one page of a tenant's tasks ordered by id, using keyset pagination.
+     *
+     * @param tenantId    the tenant
+     * @param cursor      opaque cursor from a previous page, or null for the first page
+     * @param size        maximum number of tasks in the page
+     * @param completed   optional filter on completion status
+     * @param titlePrefix optional case-insensitive title prefix filter
+     * @return the page of TaskDTOs and the cursor for the next page
+     * @throws InvalidTaskRequestException if the cursor is malformed
+     */
+    public Mono<TaskPageDTO> getTaskPage(String tenantId, String cursor, int size, Boolean completed, String titlePrefix) {
+        long afterId = PageCursor.decode(cursor).afterId();
+        String prefix = titlePrefix == null || titlePrefix.isBlank() ? null : Task.normalizeTitle(titlePrefix);
+        log.debug("Retrieving task page after id: {}, size: {}, completed: {}, prefix: {}", afterId, size, completed, prefix);
+        // Fetch one extra row to find out whether another page follows
+        return taskRepository.findPage(taskShardRouter.shardOf(tenantId), tenantId, afterId, completed, prefix, size + 1)
+                .map(TaskMapper::toDTO)
+                .collectList()
+                .map(tasks -> {
+                    boolean hasMore = tasks.size() > size;
+                    List<TaskDTO> items = hasMore ? tasks.subList(0, size) : tasks;
+                    String nextCursor = hasMore ? new PageCursor(items.get(items.size() - 1).getId()).encode() : null;
+                    return new TaskPageDTO(items, nextCursor);
+                });
+    }
+
+    /**
+     * Retrieve a tenant's task by its ID.
+     *
+     * @param tenantId the tenant
+     * @param id       the task ID
+     * @return the TaskDTO, or an error of {@link TaskNotFoundException} if not found
+     */
+    public Mono<TaskDTO> getTaskById(String tenantId, Long id) {
+        log.debug("Retrieving task by id: {}", id);
+        return taskRepository.findById(taskShardRouter.shardOf(tenantId), tenantId, id)
+                .map(TaskMapper::toDTO)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task not found with id: " + id)));
+    }
+}
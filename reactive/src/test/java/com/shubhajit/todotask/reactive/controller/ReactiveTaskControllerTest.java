@@ -0,0 +1,109 @@
+package com.shubhajit.todotask.reactive.controller;
+
+import static org.mockito.Mockito.when;
+
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.exception.TaskNotFoundException;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import com.shubhajit.todotask.reactive.config.ReactiveTenancyConfig;
+import com.shubhajit.todotask.reactive.service.ReactiveTaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@WebFluxTest(ReactiveTaskController.class)
+@Import(ReactiveTenancyConfig.class)
+class ReactiveTaskControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveTaskService taskService;
+
+    private final TaskDTO task = TaskDTO.builder().id(1L).title("Test Task").description("desc").version(3L).build();
+
+    @Test
+    void testGetAllTasks() {
+        when(taskService.getCollectionVersion(Task.DEFAULT_TENANT)).thenReturn(Mono.just(7L));
+        when(taskService.getAllTasks(Task.DEFAULT_TENANT)).thenReturn(Flux.just(task));
+        webTestClient.get().uri("/api/tasks").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"tasks-default-7-json\"")
+                .expectHeader().valueEquals(HttpHeaders.VARY, "Accept, X-Tenant-Id, Authorization")
+                .expectBody().jsonPath("$[0].title").isEqualTo("Test Task");
+    }
+
+    @Test
+    void testGetAllTasks_notModified() {
+        when(taskService.getCollectionVersion(Task.DEFAULT_TENANT)).thenReturn(Mono.just(7L));
+        webTestClient.get().uri("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, "\"tasks-default-7-json\"").exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testGetAllTasks_notAcceptable() {
+        webTestClient.get().uri("/api/tasks").accept(MediaType.APPLICATION_XML).exchange()
+                .expectStatus().isEqualTo(406);
+    }
+
+    @Test
+    void testGetTaskPage() {
+        when(taskService.getTaskPage(Task.DEFAULT_TENANT, null, 50, true, null)).thenReturn(Mono.just(new TaskPageDTO(List.of(task), "Mg")));
+        webTestClient.get().uri("/api/tasks/page?completed=true").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].title").isEqualTo("Test Task")
+                .jsonPath("$.nextCursor").isEqualTo("Mg");
+    }
+
+    @Test
+    void testGetTaskPage_badRequests() {
+        webTestClient.get().uri("/api/tasks/page?size=501").exchange().expectStatus().isBadRequest();
+        when(taskService.getTaskPage(Task.DEFAULT_TENANT, "bad", 50, null, null)).thenThrow(new InvalidTaskRequestException("Invalid cursor: bad"));
+        webTestClient.get().uri("/api/tasks/page?cursor=bad").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid cursor: bad");
+    }
+
+    @Test
+    void testGetTaskById() {
+        when(taskService.getTaskById(Task.DEFAULT_TENANT, 1L)).thenReturn(Mono.just(task));
+        webTestClient.get().uri("/api/tasks/1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody().jsonPath("$.title").isEqualTo("Test Task");
+        webTestClient.get().uri("/api/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"3\"").exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testGetTaskById_notFound() {
+        when(taskService.getTaskById(Task.DEFAULT_TENANT, 2L)).thenReturn(Mono.error(new TaskNotFoundException("Task not found with id: 2")));
+        webTestClient.get().uri("/api/tasks/2").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Task not found with id: 2")
+                .jsonPath("$.path").isEqualTo("/api/tasks/2");
+    }
+
+    @Test
+    void testGetTaskById_tenantHeader() {
+        when(taskService.getTaskById("acme", 1L)).thenReturn(Mono.just(task));
+        webTestClient.get().uri("/api/tasks/1").header("X-Tenant-Id", "acme").exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/tasks/1").header("X-Tenant-Id", "not a tenant!").exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,90 @@
+package com.shubhajit.todotask.reactive.repository;
+
+import com.shubhajit.todotask.entity.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+@DataR2dbcTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivetasks",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+@Import(ReactiveTaskRepository.class)
+class ReactiveTaskRepositoryTest {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Columns of the Flyway-managed TASK and TASK_CHANGE_COUNTER tables read by the repository
+        execute("DROP TABLE IF EXISTS TASK");
+        execute("DROP TABLE IF EXISTS TASK_CHANGE_COUNTER");
+        execute("CREATE TABLE TASK (ID BIGINT PRIMARY KEY, SHARD INT DEFAULT 0 NOT NULL, TENANT_ID VARCHAR(64) DEFAULT 'default' NOT NULL,"
+                + " TITLE VARCHAR(100), TITLE_KEY VARCHAR(100) NOT NULL,"
+                + " DESCRIPTION VARCHAR(255), COMPLETED BOOLEAN, VERSION BIGINT DEFAULT 0 NOT NULL,"
+                + " CHANGE_SEQ BIGINT DEFAULT 0 NOT NULL, LAST_MODIFIED TIMESTAMP WITH TIME ZONE)");
+        execute("CREATE TABLE TASK_CHANGE_COUNTER (TENANT_ID VARCHAR(64) PRIMARY KEY, CHANGE_COUNT BIGINT NOT NULL)");
+        execute("INSERT INTO TASK_CHANGE_COUNTER VALUES ('default', 12), ('acme', 3)");
+        execute("INSERT INTO TASK (ID, TITLE, TITLE_KEY, COMPLETED, VERSION, CHANGE_SEQ, LAST_MODIFIED) VALUES"
+                + " (1, 'Buy milk', 'buy milk', FALSE, 2, 5, TIMESTAMP WITH TIME ZONE '2025-01-01 10:00:00+00'),"
+                + " (2, 'Buy 100% juice', 'buy 100% juice', TRUE, 0, 6, NULL),"
+                + " (3, 'Walk dog', 'walk dog', TRUE, 0, 7, NULL)");
+        execute("INSERT INTO TASK (ID, SHARD, TENANT_ID, TITLE, TITLE_KEY, COMPLETED) VALUES"
+                + " (4, 0, 'acme', 'Buy bread', 'buy bread', TRUE)");
+    }
+
+    @Test
+    void testFindById() {
+        StepVerifier.create(taskRepository.findById(0, Task.DEFAULT_TENANT, 1L))
+                .expectNextMatches(task -> task.getTitle().equals("Buy milk") && task.getVersion() == 2L
+                        && task.getChangeSeq() == 5L && task.getLastModified() != null)
+                .verifyComplete();
+        StepVerifier.create(taskRepository.findById(0, Task.DEFAULT_TENANT, 99L)).verifyComplete();
+        // Another tenant's task is not found
+        StepVerifier.create(taskRepository.findById(0, Task.DEFAULT_TENANT, 4L)).verifyComplete();
+    }
+
+    @Test
+    void testStreamAllByOrderByIdAsc() {
+        StepVerifier.create(taskRepository.streamAllByOrderByIdAsc(0, Task.DEFAULT_TENANT).map(Task::getId))
+                .expectNext(1L, 2L, 3L)
+                .verifyComplete();
+        StepVerifier.create(taskRepository.streamAllByOrderByIdAsc(0, "acme").map(Task::getId))
+                .expectNext(4L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindPage() {
+        StepVerifier.create(taskRepository.findPage(0, Task.DEFAULT_TENANT, 1L, true, null, 10).map(Task::getId))
+                .expectNext(2L, 3L)
+                .verifyComplete();
+        StepVerifier.create(taskRepository.findPage(0, Task.DEFAULT_TENANT, 0L, null, "buy", 1).map(Task::getId))
+                .expectNext(1L)
+                .verifyComplete();
+        // LIKE wildcards in the prefix match literally
+        StepVerifier.create(taskRepository.findPage(0, Task.DEFAULT_TENANT, 0L, null, "buy 100%", 10).map(Task::getId))
+                .expectNext(2L)
+                .verifyComplete();
+        StepVerifier.create(taskRepository.findPage(0, Task.DEFAULT_TENANT, 0L, null, "buy%", 10)).verifyComplete();
+    }
+
+    @Test
+    void testFindChangeCount() {
+        StepVerifier.create(taskRepository.findChangeCount(Task.DEFAULT_TENANT)).expectNext(12L).verifyComplete();
+        StepVerifier.create(taskRepository.findChangeCount("acme")).expectNext(3L).verifyComplete();
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
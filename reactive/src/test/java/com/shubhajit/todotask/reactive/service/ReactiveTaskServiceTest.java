@@ -0,0 +1,72 @@
+package com.shubhajit.todotask.reactive.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.exception.TaskNotFoundException;
+import com.shubhajit.todotask.reactive.repository.ReactiveTaskRepository;
+import com.shubhajit.todotask.service.PageCursor;
+import com.shubhajit.todotask.service.TaskShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTaskServiceTest {
+
+    @Mock
+    private ReactiveTaskRepository taskRepository;
+
+    private ReactiveTaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new ReactiveTaskService(taskRepository, new TaskShardRouter(4));
+    }
+
+    @Test
+    void testGetTaskPage_hasNextPage() {
+        when(taskRepository.findPage(0, Task.DEFAULT_TENANT, 0L, null, "task", 3)).thenReturn(Flux.just(
+                Task.builder().id(1L).title("Task 1").build(),
+                Task.builder().id(2L).title("Task 2").build(),
+                Task.builder().id(3L).title("Task 3").build()));
+        StepVerifier.create(taskService.getTaskPage(Task.DEFAULT_TENANT, null, 2, null, "TASK"))
+                .expectNextMatches(page -> page.getItems().size() == 2
+                        && new PageCursor(2L).encode().equals(page.getNextCursor()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetTaskPage_lastPage() {
+        when(taskRepository.findPage(0, Task.DEFAULT_TENANT, 2L, true, null, 3)).thenReturn(Flux.just(Task.builder().id(3L).title("Task 3").build()));
+        StepVerifier.create(taskService.getTaskPage(Task.DEFAULT_TENANT, new PageCursor(2L).encode(), 2, true, " "))
+                .expectNextMatches(page -> page.getItems().size() == 1 && page.getNextCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetTaskPage_invalidCursor() {
+        assertThrows(InvalidTaskRequestException.class, () -> taskService.getTaskPage(Task.DEFAULT_TENANT, "not-a-cursor!", 10, null, null));
+    }
+
+    @Test
+    void testGetTaskById_notFound() {
+        when(taskRepository.findById(0, Task.DEFAULT_TENANT, 2L)).thenReturn(Mono.empty());
+        StepVerifier.create(taskService.getTaskById(Task.DEFAULT_TENANT, 2L))
+                .expectErrorMatches(ex -> ex instanceof TaskNotFoundException && ex.getMessage().equals("Task not found with id: 2"))
+                .verify();
+    }
+
+    @Test
+    void testGetCollectionVersion_defaultsToZero() {
+        when(taskRepository.findChangeCount("acme")).thenReturn(Mono.empty());
+        StepVerifier.create(taskService.getCollectionVersion("acme")).expectNext(0L).verifyComplete();
+    }
+}
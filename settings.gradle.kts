@@ -1 +1,4 @@
 rootProject.name = "todotask"
+
+// Optional WebFlux + R2DBC variant of the read API (see "Reactive Variant" in the README)
+include("reactive")
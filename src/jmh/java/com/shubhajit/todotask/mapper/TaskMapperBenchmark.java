@@ -0,0 +1,64 @@
+package com.shubhajit.todotask.mapper;
+
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.model.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for entity/DTO conversion in {@link TaskMapper}.
+ * Run with {@code -PjmhProfilers=gc} to see bytes allocated per conversion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+    private Task task;
+    private TaskDTO dto;
+
+    @Setup
+    public void setUp() {
+        task = Task.builder().id(42L).title("Buy groceries").titleKey("buy groceries")
+                .description("Milk, Bread, Eggs, and Fruits").completed(false).version(3L).build();
+        dto = TaskMapper.toDTO(task);
+    }
+
+    @Benchmark
+    public TaskDTO toDTO() {
+        return TaskMapper.toDTO(task);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return TaskMapper.toEntity(dto);
+    }
+
+    /**
+     * Baseline for {@link #toDTO()}: the Lombok builder, which allocates a builder per call
+     * unless escape analysis removes it.
+     */
+    @Benchmark
+    public TaskDTO toDTOWithBuilder() {
+        return TaskDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .completed(task.isCompleted())
+                .version(task.getVersion())
+                .lastModified(task.getLastModified())
+                .build();
+    }
+}
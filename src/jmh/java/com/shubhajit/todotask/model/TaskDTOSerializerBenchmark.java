@@ -0,0 +1,74 @@
+package com.shubhajit.todotask.model;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Compares {@link TaskDTOSerializer} with Jackson's default bean serializer for a task list.
+ * Output goes to a discarding stream so only serialization is measured; run with
+ * {@code -PjmhProfilers=gc} to compare bytes allocated per list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskDTOSerializerBenchmark {
+    @Param({"100", "10000"})
+    private int size;
+
+    private ObjectWriter directWriter;
+    private ObjectWriter beanWriter;
+    private List<TaskDTO> tasks;
+
+    @Setup
+    public void setUp() {
+        directWriter = writerFor(JsonMapper.builder());
+        // Ignoring annotations drops @JsonSerialize, leaving the default bean serializer
+        beanWriter = writerFor(JsonMapper.builder().disable(MapperFeature.USE_ANNOTATIONS));
+        Instant now = Instant.now();
+        tasks = LongStream.range(0, size)
+                .mapToObj(i -> new TaskDTO(i, "Task " + i, "Description of task number " + i, i % 3 == 0, i % 5, now))
+                .toList();
+    }
+
+    private static ObjectWriter writerFor(JsonMapper.Builder builder) {
+        ObjectMapper mapper = builder.addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        return mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, TaskDTO.class));
+    }
+
+    @Benchmark
+    public void serializeDirect() throws IOException {
+        directWriter.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+
+    @Benchmark
+    public void serializeBean() throws IOException {
+        beanWriter.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+}
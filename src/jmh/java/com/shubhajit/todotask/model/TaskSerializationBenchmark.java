@@ -0,0 +1,89 @@
+package com.shubhajit.todotask.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks for serializing TaskDTO lists at response-like sizes, per wire format (JSON, CBOR, Smile),
+ * with and without gzip, plus the consumer's parse cost.
+ * Payload sizes do not vary between runs, so they are printed once per trial rather than measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+    private static final TypeReference<List<TaskDTO>> LIST_TYPE = new TypeReference<>() { };
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> tasks;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+        tasks = LongStream.range(0, size)
+                .mapToObj(i -> TaskDTO.builder()
+                        .id(i)
+                        .title("Task " + i)
+                        .description("Description of task number " + i)
+                        .completed(i % 3 == 0)
+                        .version(i % 5)
+                        .build())
+                .toList();
+        serialized = objectMapper.writeValueAsBytes(tasks);
+        System.out.printf("%n%s, %d tasks: %d bytes, %d bytes gzipped%n",
+                format, size, serialized.length, serializeListGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeListGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, tasks);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<TaskDTO> deserializeList() throws IOException {
+        return objectMapper.readValue(serialized, LIST_TYPE);
+    }
+}
@@ -0,0 +1,120 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.TodotaskApplication;
+import com.shubhajit.todotask.exception.TaskAlreadyExistsException;
+import com.shubhajit.todotask.mapper.TaskMapper;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link TaskService} against an embedded H2 database seeded with {@code rows} tasks.
+ * Run with {@code -PjmhProfilers=gc} to compare bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskServiceBenchmark {
+    private static final int SEED_BATCH = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private TaskDTO duplicate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodotaskApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench" + rows + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.shubhajit.todotask=WARN");
+        seed(context.getBean(JdbcTemplate.class), rows);
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        duplicate = TaskDTO.builder().title("BENCH TASK " + rows / 2).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        // Default-tenant rows in shard 0, with ids from a generator whose node the running app does not use
+        TaskIdGenerator ids = new TaskIdGenerator(TaskIdGenerator.MAX_NODES - 1, System::currentTimeMillis);
+        String sql = "INSERT INTO TASK (ID, TITLE, TITLE_KEY, DESCRIPTION, COMPLETED, VERSION) VALUES (?, ?, ?, ?, ?, 0)";
+        for (int start = 0; start < rows; start += SEED_BATCH) {
+            int end = Math.min(rows, start + SEED_BATCH);
+            List<Object[]> batch = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                batch.add(new Object[]{ids.nextId(0), "Bench task " + i, "bench task " + i, "Seeded for benchmarks", i % 2 == 0});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    /**
+     * Create path for a title that already exists, i.e. the duplicate check alone.
+     */
+    @Benchmark
+    public Object saveTaskDuplicateCheck() {
+        try {
+            return taskService.saveTask(duplicate);
+        } catch (TaskAlreadyExistsException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<TaskDTO> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    /**
+     * Baseline for {@link #getAllTasks()}: load managed entities, then map each one to a DTO.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<TaskDTO> getAllTasksViaEntities() {
+        return readOnlyTransaction.execute(status ->
+                taskRepository.findAll(Sort.by("id")).stream().map(TaskMapper::toDTO).toList());
+    }
+}
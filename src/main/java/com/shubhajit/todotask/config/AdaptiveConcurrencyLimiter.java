@@ -0,0 +1,81 @@
+package com.shubhajit.todotask.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits requests in flight with an additive-increase / multiplicative-decrease limit.
+ * The limit shrinks when requests are slow or threads queue for database connections,
+ * and grows by one while requests are fast and the limit is actually being used.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final int poolWaitersThreshold;
+    private final double backoffRatio;
+    private final IntSupplier poolWaiters;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastBackoff;
+
+    public AdaptiveConcurrencyLimiter(LimitsProperties.Concurrency properties, IntSupplier poolWaiters, LongSupplier nanoClock) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.poolWaitersThreshold = properties.getPoolWaitersThreshold();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.poolWaiters = poolWaiters;
+        this.nanoClock = nanoClock;
+        this.limit = new AtomicInteger(properties.getInitialLimit());
+        this.lastBackoff = new AtomicLong(nanoClock.getAsLong() - latencyThresholdNanos);
+    }
+
+    /**
+     * Admit a request if fewer than the current limit are in flight.
+     *
+     * @return true if admitted; the caller must then call {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Complete an admitted request and adjust the limit from its latency.
+     *
+     * @param latencyNanos how long the request took
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos || poolWaiters.getAsInt() > poolWaitersThreshold) {
+            // Back off at most once per threshold period, so one burst of slow requests is one signal
+            long now = nanoClock.getAsLong();
+            long last = lastBackoff.get();
+            if (now - last >= latencyThresholdNanos && lastBackoff.compareAndSet(last, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (inFlightBefore * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
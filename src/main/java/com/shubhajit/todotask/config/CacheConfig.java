@@ -0,0 +1,81 @@
+package com.shubhajit.todotask.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cache configuration for task lookups.
+ * The provider is chosen by {@code spring.cache.type} (Caffeine locally), so a distributed
+ * cache can be swapped in through configuration without touching the service layer.
+ * Entries are node-local; {@code TaskCacheInvalidator} evicts those of tenants written on other nodes.
+ * <p>
+ * The caching advice wraps the transactional one, so puts and evictions happen only after the write has
+ * committed; a rolled-back write (failed quota check, outbox listener or commit) never reaches the cache.
+ * A write that joins an outer transaction (an idempotent request, a batch) commits with that transaction,
+ * so the cache manager is also made transaction-aware: puts and evictions made inside a transaction are
+ * applied once it commits and dropped if it rolls back.
+ */
+@Configuration
+@EnableCaching(order = CacheConfig.CACHE_ADVICE_ORDER)
+public class CacheConfig {
+    /**
+     * Order of the caching advice: just outside the transaction advice, which keeps the default lowest precedence.
+     */
+    static final int CACHE_ADVICE_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    /**
+     * Cache of TaskDTOs keyed by tenant and task id (see {@link #TASK_KEY}).
+     */
+    public static final String TASKS_CACHE = "tasks";
+
+    /**
+     * Key of a {@link #TASKS_CACHE} entry for the {@code id} argument: the current tenant and the id,
+     * so a tenant is never answered from an entry cached for another tenant.
+     */
+    public static final String TASK_KEY = "T(com.shubhajit.todotask.config.TenantContext).current() + ':' + #id";
+
+    /**
+     * Key of a {@link #TASKS_CACHE} entry, as built by {@link #TASK_KEY}.
+     *
+     * @param tenantId the tenant owning the task
+     * @param id       the task id
+     * @return the cache key
+     */
+    public static String taskKey(String tenantId, Long id) {
+        return tenantId + ":" + id;
+    }
+
+    /**
+     * Key of a {@link #TASKS_CACHE} entry for the returned task.
+     */
+    public static final String RESULT_TASK_KEY = "T(com.shubhajit.todotask.config.TenantContext).current() + ':' + #result.id";
+
+    /**
+     * Condition of {@link #TASKS_CACHE} lookups: a client pinned to the primary for read-your-writes
+     * reads the database, since the entry on this node may predate its write through another node.
+     */
+    public static final String UNLESS_PINNED = "!T(com.shubhajit.todotask.config.ReplicaRoutingDataSource).isPinnedToPrimary()";
+
+    /**
+     * Front cache of stored idempotent responses, keyed like the idempotency table.
+     */
+    public static final String IDEMPOTENCY_CACHE = "idempotency";
+
+    @Bean
+    static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+                    return new TransactionAwareCacheManagerProxy(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.shubhajit.todotask.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds requests with 503 while the adaptive concurrency limit is reached, so an overloaded
+ * database sees fewer callers instead of a growing connection queue.
+ * <p>
+ * A streamed response (list, export) keeps reading the database after the handler returns, so its
+ * permit is held, and its latency measured, until the async request completes. Event streams hold
+ * no connection while open and release their permit once subscribed.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final Counter shed;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            shed.increment();
+            RateLimitFilter.writeError(objectMapper, request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Server is busy, please retry later", 1);
+            return;
+        }
+        Permit permit = new Permit(System.nanoTime());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted() && !isEventStream(response)) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * The async dispatch that finishes a streamed response runs under the permit its request already holds.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    private static boolean isEventStream(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    /**
+     * An admitted request's permit, released exactly once: a timed-out or failed async request also completes.
+     */
+    @RequiredArgsConstructor
+    private class Permit implements AsyncListener {
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A redispatched request that starts async again keeps its permit until that completes
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
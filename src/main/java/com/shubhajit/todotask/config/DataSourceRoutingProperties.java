@@ -0,0 +1,35 @@
+package com.shubhajit.todotask.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-replica routing ({@code todotask.datasource.routing.*} in {@code application.yml}).
+ * The primary is the regular {@code spring.datasource}.
+ */
+@Data
+@ConfigurationProperties(prefix = "todotask.datasource.routing")
+public class DataSourceRoutingProperties {
+    private boolean enabled = false;
+    /**
+     * How long a client's reads stay on the primary after its own write; should exceed replica lag.
+     */
+    private Duration stickiness = Duration.ofSeconds(5);
+    /**
+     * Header identifying the client; the remote address is used when it is absent.
+     */
+    private String clientHeader = "X-Client-Id";
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 20;
+    }
+}
@@ -0,0 +1,99 @@
+package com.shubhajit.todotask.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.function.IntSupplier;
+
+/**
+ * Rate limiting and load shedding for {@code /api/*}: a per-client and a per-tenant token bucket (429)
+ * in front of an adaptive concurrency limit (503). All run right after log sampling, with tenant
+ * resolution between the two buckets, before any other work.
+ */
+@Configuration
+@EnableConfigurationProperties(LimitsProperties.class)
+public class LimitsConfig {
+    @Bean
+    @ConditionalOnProperty(name = "todotask.limits.rate.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(LimitsProperties properties, ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        LimitsProperties.Rate rate = properties.getRate();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(
+                rate.getCapacity(), rate.getRefillPerSecond(), rate.getMaxClients(), System::nanoTime);
+        Gauge.builder("tasks.limits.clients", limiter, TokenBucketRateLimiter::clientCount)
+                .description("Clients with a rate limit bucket")
+                .register(meterRegistry);
+        RateLimitFilter filter = new RateLimitFilter(limiter, rate, objectMapper,
+                meterRegistry.counter("tasks.limits.rejected", "reason", "rate"));
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todotask.limits.tenant-rate.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> tenantRateLimitFilter(LimitsProperties properties, ObjectMapper objectMapper,
+                                                                         MeterRegistry meterRegistry) {
+        LimitsProperties.TenantRate tenantRate = properties.getTenantRate();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(
+                tenantRate.getCapacity(), tenantRate.getRefillPerSecond(), tenantRate.getMaxTenants(), System::nanoTime);
+        Gauge.builder("tasks.limits.tenants", limiter, TokenBucketRateLimiter::clientCount)
+                .description("Tenants with a rate limit bucket")
+                .register(meterRegistry);
+        // Runs after TenantFilter, so the tenant is known
+        RateLimitFilter filter = new RateLimitFilter(limiter, request -> TenantContext.current(), properties.getRate(),
+                objectMapper, meterRegistry.counter("tasks.limits.rejected", "reason", "tenant-rate"));
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todotask.limits.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            LimitsProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry, DataSource dataSource) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties.getConcurrency(), poolWaiters(dataSource), System::nanoTime);
+        Gauge.builder("tasks.limits.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("tasks.limits.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight).register(meterRegistry);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, objectMapper,
+                meterRegistry.counter("tasks.limits.rejected", "reason", "concurrency"));
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    /**
+     * Threads currently waiting for a Hikari connection; 0 for other pools or before the pool starts.
+     */
+    private static IntSupplier poolWaiters(DataSource dataSource) {
+        HikariDataSource hikari;
+        try {
+            hikari = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            hikari = null;
+        }
+        if (hikari == null) {
+            return () -> 0;
+        }
+        HikariDataSource pool = hikari;
+        return () -> {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            return mxBean == null ? 0 : mxBean.getThreadsAwaitingConnection();
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.shubhajit.todotask.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits applied to {@code /api/*} requests ({@code todotask.limits.*} in {@code application.yml}).
+ */
+@Data
+@ConfigurationProperties(prefix = "todotask.limits")
+public class LimitsProperties {
+    private Rate rate = new Rate();
+    private TenantRate tenantRate = new TenantRate();
+    private Concurrency concurrency = new Concurrency();
+
+    /**
+     * Per-client token bucket. Each request spends the cost of its endpoint.
+     */
+    @Data
+    public static class Rate {
+        private boolean enabled = true;
+        /**
+         * Bucket size: the largest burst of cost a client can spend at once.
+         */
+        private long capacity = 200;
+        /**
+         * Cost units added back to each bucket per second.
+         */
+        private double refillPerSecond = 100;
+        /**
+         * Most client buckets kept in memory; idle clients are evicted first.
+         */
+        private long maxClients = 100_000;
+        private int defaultCost = 1;
+        /**
+         * Endpoint costs; the first matching entry wins.
+         */
+        private List<EndpointCost> costs = new ArrayList<>();
+    }
+
+    /**
+     * Per-tenant token bucket, shared by all of a tenant's clients. Requests spend the endpoint costs of {@link Rate}.
+     */
+    @Data
+    public static class TenantRate {
+        private boolean enabled = true;
+        private long capacity = 2000;
+        private double refillPerSecond = 1000;
+        /**
+         * Most tenant buckets kept in memory; idle tenants are evicted first.
+         */
+        private long maxTenants = 100_000;
+    }
+
+    @Data
+    public static class EndpointCost {
+        /**
+         * HTTP method to match, or null for any.
+         */
+        private String method;
+        /**
+         * Path pattern, e.g. {@code /api/tasks/{id}}.
+         */
+        private String pattern;
+        private int cost = 1;
+    }
+
+    /**
+     * Adaptive limit on requests in flight, shed with 503 when reached.
+     */
+    @Data
+    public static class Concurrency {
+        private boolean enabled = true;
+        private int initialLimit = 50;
+        private int minLimit = 10;
+        private int maxLimit = 200;
+        /**
+         * Requests slower than this shrink the limit.
+         */
+        private Duration latencyThreshold = Duration.ofMillis(500);
+        /**
+         * More threads than this waiting for a pooled connection shrinks the limit.
+         */
+        private int poolWaitersThreshold = 5;
+        /**
+         * Factor applied to the limit on each shrink (at most once per latency threshold).
+         */
+        private double backoffRatio = 0.9;
+    }
+}
@@ -0,0 +1,40 @@
+package com.shubhajit.todotask.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per request whether its per-call log lines are kept, so a sampled request logs completely.
+ * Requests that are not sampled are marked in the MDC for {@link SampledRequestTurboFilter}.
+ */
+@RequiredArgsConstructor
+public class LogSamplingFilter extends OncePerRequestFilter {
+    public static final String MDC_KEY = "logSampled";
+    public static final String NOT_SAMPLED = "false";
+
+    private final double sampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (sampled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MDC.put(MDC_KEY, NOT_SAMPLED);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
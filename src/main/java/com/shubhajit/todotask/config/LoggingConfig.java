@@ -0,0 +1,23 @@
+package com.shubhajit.todotask.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Logging configuration: per-request sampling of application log lines.
+ * Appenders themselves are configured in {@code logback-spring.xml}.
+ */
+@Configuration
+public class LoggingConfig {
+    @Bean
+    public FilterRegistrationBean<LogSamplingFilter> logSamplingFilter(
+            @Value("${todotask.logging.sample-rate:1.0}") double sampleRate) {
+        FilterRegistrationBean<LogSamplingFilter> registration = new FilterRegistrationBean<>(new LogSamplingFilter(sampleRate));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
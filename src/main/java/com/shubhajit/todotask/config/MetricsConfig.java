@@ -0,0 +1,36 @@
+package com.shubhajit.todotask.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration: per-request SQL statement counting.
+ * Service timers come from {@code @Timed}; Hikari and Hibernate meters are bound by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public QueryCountInspector queryCountInspector() {
+        return new QueryCountInspector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountHibernateCustomizer(QueryCountInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(
+            QueryCountInspector inspector, MeterRegistry meterRegistry,
+            @Value("${todotask.metrics.query-count-warn-threshold:20}") int warnThreshold) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(inspector, meterRegistry, warnThreshold));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
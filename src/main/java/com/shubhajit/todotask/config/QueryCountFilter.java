@@ -0,0 +1,49 @@
+package com.shubhajit.todotask.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements each request issues, tagged by method and URI pattern.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+    private final QueryCountInspector inspector;
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        inspector.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int queries = inspector.count();
+            inspector.clear();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder("tasks.request.queries")
+                    .description("SQL statements issued per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(queries);
+            if (queries > warnThreshold) {
+                log.warn("{} {} issued {} SQL statements", request.getMethod(), uri, queries);
+            }
+        }
+    }
+}
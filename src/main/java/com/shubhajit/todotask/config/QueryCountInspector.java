@@ -0,0 +1,29 @@
+package com.shubhajit.todotask.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements issued on the current thread.
+ * The count is reset and read per request by {@link QueryCountFilter}.
+ */
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public int count() {
+        return COUNT.get()[0];
+    }
+
+    public void clear() {
+        COUNT.remove();
+    }
+}
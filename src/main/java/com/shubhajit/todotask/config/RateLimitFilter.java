@@ -0,0 +1,105 @@
+package com.shubhajit.todotask.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubhajit.todotask.exception.ApiError;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Rejects requests with 429 once their key (the client address, or the tenant) has spent its token bucket.
+ * Each request costs the weight configured for its endpoint, so expensive calls such as
+ * listing every task drain the bucket faster than single-task lookups.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final TokenBucketRateLimiter rateLimiter;
+    private final Function<HttpServletRequest, String> keyResolver;
+    private final int defaultCost;
+    private final List<CostRule> costRules;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    /**
+     * Limit each client by its remote address. A header naming the client is never the key, since callers
+     * could send a new value with every request and start each one with a full bucket; behind a proxy,
+     * {@code server.forward-headers-strategy} makes the remote address the original client's.
+     */
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, LimitsProperties.Rate properties,
+                           ObjectMapper objectMapper, Counter rejected) {
+        this(rateLimiter, HttpServletRequest::getRemoteAddr, properties, objectMapper, rejected);
+    }
+
+    /**
+     * Limit each key returned by the resolver, with the endpoint costs of the given properties.
+     */
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, Function<HttpServletRequest, String> keyResolver,
+                           LimitsProperties.Rate properties, ObjectMapper objectMapper, Counter rejected) {
+        this.rateLimiter = rateLimiter;
+        this.keyResolver = keyResolver;
+        this.defaultCost = properties.getDefaultCost();
+        this.costRules = properties.getCosts().stream()
+                .map(cost -> new CostRule(cost.getMethod(), PathPatternParser.defaultInstance.parse(cost.getPattern()), cost.getCost()))
+                .toList();
+        this.objectMapper = objectMapper;
+        this.rejected = rejected;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(keyResolver.apply(request), costOf(request));
+        if (waitNanos > 0) {
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            writeError(objectMapper, request, response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded, please retry later", retryAfterSeconds);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    int costOf(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (CostRule rule : costRules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(request.getMethod())) && rule.pattern().matches(path)) {
+                return rule.cost();
+            }
+        }
+        return defaultCost;
+    }
+
+    /**
+     * Write an {@link ApiError} body with a Retry-After header, as the exception handler would.
+     */
+    static void writeError(ObjectMapper objectMapper, HttpServletRequest request, HttpServletResponse response,
+                           HttpStatus status, String message, long retryAfterSeconds) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        writeError(objectMapper, request, response, status, message);
+    }
+
+    /**
+     * Write an {@link ApiError} body, as the exception handler would.
+     */
+    static void writeError(ObjectMapper objectMapper, HttpServletRequest request, HttpServletResponse response,
+                           HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiError(status, message, request.getRequestURI()));
+    }
+
+    private record CostRule(String method, PathPattern pattern, int cost) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.shubhajit.todotask.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Pins a client's requests to the primary database for a short window after it made a successful write,
+ * so it reads its own writes even while the replicas lag behind.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final String clientHeader;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(String clientHeader, Duration stickiness, long maxClients) {
+        this.clientHeader = clientHeader;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(stickiness)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = request.getHeader(clientHeader);
+        if (client == null || client.isBlank()) {
+            client = request.getRemoteAddr();
+        }
+        if (recentWriters.getIfPresent(client) != null) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+            if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())
+                    && response.getStatus() < 400) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.shubhajit.todotask.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replicas (round robin) and everything else to the primary.
+ * <p>
+ * The decision is made when the transaction first needs a connection, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; by then the
+ * {@code @Transactional(readOnly = true)} flag is visible. A thread can be pinned to the primary
+ * for read-your-writes consistency.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final int replicaCount;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        this.replicaCount = replicas.size();
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Route the current thread's reads to the primary until {@link #unpin()}.
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Run work with the current thread's reads on the primary, keeping an existing pin in place.
+     *
+     * @param work the work to run
+     * @return its result
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (isPinnedToPrimary()) {
+            return work.get();
+        }
+        pinToPrimary();
+        try {
+            return work.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaCount == 0
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicaCount);
+    }
+}
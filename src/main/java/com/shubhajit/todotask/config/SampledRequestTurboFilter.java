@@ -0,0 +1,26 @@
+package com.shubhajit.todotask.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that suppresses DEBUG/INFO events from application loggers
+ * on requests that {@link LogSamplingFilter} did not sample. WARN and ERROR always pass.
+ */
+public class SampledRequestTurboFilter extends TurboFilter {
+    private static final String APPLICATION_LOGGER_PREFIX = "com.shubhajit.todotask";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != null && !level.isGreaterOrEqual(Level.WARN)
+                && LogSamplingFilter.NOT_SAMPLED.equals(MDC.get(LogSamplingFilter.MDC_KEY))
+                && logger.getName().startsWith(APPLICATION_LOGGER_PREFIX)) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
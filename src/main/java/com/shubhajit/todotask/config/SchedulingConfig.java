@@ -0,0 +1,12 @@
+package com.shubhajit.todotask.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, such as the task stream heartbeat.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
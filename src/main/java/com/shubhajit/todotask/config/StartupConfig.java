@@ -0,0 +1,47 @@
+package com.shubhajit.todotask.config;
+
+import com.shubhajit.todotask.controller.TaskController;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup tuning for {@code spring.main.lazy-initialization=true} (the {@code prod} profile).
+ * The beans behind the first request stay eager, so the Hibernate and repository bootstrap
+ * is paid before the pod reports ready rather than by the first caller.
+ */
+@Configuration
+public class StartupConfig {
+    @Bean
+    static LazyInitializationExcludeFilter requestPathLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class, TaskController.class);
+    }
+
+    /**
+     * Background jobs are registered when their bean is created. Beans such as the outbox relay and the
+     * tombstone compactor are referenced by nothing else, so a lazy one would never be created and never run.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter scheduledJobsLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+
+    static boolean hasScheduledMethods(Class<?> beanType) {
+        if (!AnnotationUtils.isCandidateClass(beanType, Scheduled.class)) {
+            return false;
+        }
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType, method -> found.set(true),
+                method -> !found.get() && !AnnotatedElementUtils.getMergedRepeatableAnnotations(method, Scheduled.class, Schedules.class).isEmpty());
+        return found.get();
+    }
+}
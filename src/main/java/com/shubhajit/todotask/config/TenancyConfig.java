@@ -0,0 +1,29 @@
+package com.shubhajit.todotask.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Multi-tenancy: every {@code /api/*} request acts for one tenant, resolved right after the per-client
+ * rate limit and before the per-tenant one.
+ */
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+    @Bean
+    public TenantResolver tenantResolver(TenancyProperties properties) {
+        return new TenantResolver(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(TenantResolver tenantResolver, ObjectMapper objectMapper) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(new TenantFilter(tenantResolver, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 12);
+        return registration;
+    }
+}
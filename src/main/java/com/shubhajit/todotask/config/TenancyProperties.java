@@ -0,0 +1,53 @@
+package com.shubhajit.todotask.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tenant resolution and per-tenant quotas ({@code todotask.tenancy.*} in {@code application.yml}).
+ */
+@Data
+@ConfigurationProperties(prefix = "todotask.tenancy")
+public class TenancyProperties {
+    /**
+     * Header naming the tenant, trusted as set by the gateway. Ignored once JWT verification is configured.
+     */
+    private String header = "X-Tenant-Id";
+    /**
+     * Reject requests that name no tenant with 401, instead of acting for the default tenant.
+     * Always the case once JWT verification is configured, since every request then needs a token.
+     */
+    private boolean required = false;
+    private Jwt jwt = new Jwt();
+    private Quota quota = new Quota();
+
+    /**
+     * Bearer tokens signed with a shared HMAC secret (HS256/384/512).
+     */
+    @Data
+    public static class Jwt {
+        /**
+         * Shared secret, at least 32 bytes; when set, the tenant is taken only from verified tokens.
+         */
+        private String secret;
+        /**
+         * Claim holding the tenant id.
+         */
+        private String claim = "tenant_id";
+    }
+
+    @Data
+    public static class Quota {
+        /**
+         * Most tasks a tenant can own at once.
+         */
+        private long maxTasks = 10_000;
+        /**
+         * Task limits of individual tenants, overriding {@link #maxTasks}.
+         */
+        private Map<String, Long> maxTasksPerTenant = new HashMap<>();
+    }
+}
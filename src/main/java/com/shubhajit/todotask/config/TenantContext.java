@@ -0,0 +1,30 @@
+package com.shubhajit.todotask.config;
+
+import com.shubhajit.todotask.entity.Task;
+
+/**
+ * Tenant the current thread acts for, set by {@link TenantFilter} for the duration of a request.
+ * Work outside a request (startup, scheduled jobs) acts for the default tenant.
+ */
+public final class TenantContext {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return the current tenant, or {@link Task#DEFAULT_TENANT} when none is set
+     */
+    public static String current() {
+        String tenantId = CURRENT.get();
+        return tenantId == null ? Task.DEFAULT_TENANT : tenantId;
+    }
+
+    public static void set(String tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,50 @@
+package com.shubhajit.todotask.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.exception.TenantUnauthorizedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Resolves the request's tenant and exposes it through {@link TenantContext} for the rest of the request.
+ * Requests whose tenant cannot be established are rejected before any other work. Every response varies
+ * with the headers naming the tenant, so shared caches never serve one tenant's response to another.
+ */
+@RequiredArgsConstructor
+public class TenantFilter extends OncePerRequestFilter {
+    private final TenantResolver tenantResolver;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, tenantResolver.getHeader() + ", " + HttpHeaders.AUTHORIZATION);
+        String tenantId;
+        try {
+            tenantId = tenantResolver.resolve(request.getHeader(tenantResolver.getHeader()),
+                    request.getHeader(HttpHeaders.AUTHORIZATION));
+        } catch (TenantUnauthorizedException ex) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            RateLimitFilter.writeError(objectMapper, request, response, HttpStatus.UNAUTHORIZED, ex.getMessage());
+            return;
+        } catch (InvalidTaskRequestException ex) {
+            RateLimitFilter.writeError(objectMapper, request, response, HttpStatus.BAD_REQUEST, ex.getMessage());
+            return;
+        }
+        TenantContext.set(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
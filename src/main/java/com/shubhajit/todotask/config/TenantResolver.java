@@ -0,0 +1,108 @@
+package com.shubhajit.todotask.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.exception.TenantUnauthorizedException;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Works out which tenant a request acts for, from a verified bearer token claim when a JWT secret is
+ * configured, otherwise from the tenant header. With a JWT secret every request needs a valid token;
+ * without one, requests naming no tenant act for the default tenant unless a tenant is required.
+ * Free of servlet types so the reactive module can share it.
+ */
+public class TenantResolver {
+    private static final String BEARER = "Bearer ";
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,63}");
+
+    private final String header;
+    private final boolean required;
+    private final String claim;
+    private final JWSVerifier verifier;
+    private final DefaultJWTClaimsVerifier<SecurityContext> claimsVerifier;
+
+    public TenantResolver(TenancyProperties properties) {
+        this.header = properties.getHeader();
+        this.required = properties.isRequired();
+        this.claim = properties.getJwt().getClaim();
+        String secret = properties.getJwt().getSecret();
+        if (secret == null || secret.isEmpty()) {
+            this.verifier = null;
+            this.claimsVerifier = null;
+        } else {
+            try {
+                this.verifier = new MACVerifier(secret.getBytes(StandardCharsets.UTF_8));
+            } catch (JOSEException ex) {
+                throw new IllegalArgumentException("todotask.tenancy.jwt.secret must be at least 32 bytes", ex);
+            }
+            // Checks exp and nbf, with the default clock skew
+            this.claimsVerifier = new DefaultJWTClaimsVerifier<>(null, Set.of(claim, "exp"));
+        }
+    }
+
+    /**
+     * @return name of the header naming the tenant
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * Resolve the tenant of a request.
+     *
+     * @param tenantHeader  value of the tenant header, or null
+     * @param authorization value of the Authorization header, or null
+     * @return the tenant id
+     * @throws TenantUnauthorizedException if the token is missing or invalid, or no tenant is named where one is required
+     * @throws InvalidTaskRequestException if the tenant id is malformed
+     */
+    public String resolve(String tenantHeader, String authorization) {
+        String tenantId = verifier == null ? blankToNull(tenantHeader) : fromToken(authorization);
+        if (tenantId == null) {
+            if (required) {
+                throw new TenantUnauthorizedException("Request does not name a tenant");
+            }
+            return Task.DEFAULT_TENANT;
+        }
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new InvalidTaskRequestException("Tenant id must be 1 to 64 letters, digits, '.', '_' or '-'");
+        }
+        return tenantId;
+    }
+
+    private String fromToken(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            // Never fall back to the default tenant, which would hand its tasks to anonymous callers
+            throw new TenantUnauthorizedException("Bearer token is required");
+        }
+        try {
+            SignedJWT jwt = SignedJWT.parse(authorization.substring(BEARER.length()).trim());
+            if (!jwt.verify(verifier)) {
+                throw new TenantUnauthorizedException("Bearer token signature is invalid");
+            }
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            claimsVerifier.verify(claims, null);
+            return claims.getStringClaim(claim);
+        } catch (ParseException | JOSEException ex) {
+            throw new TenantUnauthorizedException("Bearer token is malformed", ex);
+        } catch (BadJWTException ex) {
+            throw new TenantUnauthorizedException("Bearer token is not valid: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
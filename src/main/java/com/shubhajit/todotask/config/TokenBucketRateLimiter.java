@@ -0,0 +1,62 @@
+package com.shubhajit.todotask.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free per-client token bucket.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it would be full again
+ * (the generic cell rate algorithm), so acquiring is one CAS with no allocation. Buckets live in
+ * a size-bounded Caffeine map and expire once idle long enough to have refilled completely.
+ */
+public class TokenBucketRateLimiter {
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(long capacity, double refillPerSecond, long maxClients, LongSupplier nanoClock) {
+        this.nanosPerToken = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = capacity * nanosPerToken;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstNanos).plusSeconds(1))
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Spend {@code cost} tokens from the client's bucket if it holds enough.
+     *
+     * @param client the client key
+     * @param cost   tokens to spend
+     * @return 0 if the tokens were spent, otherwise nanoseconds until enough tokens are available
+     */
+    public long tryAcquire(String client, int cost) {
+        AtomicLong fullAt = buckets.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost * nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return approximate number of tracked clients
+     */
+    public long clientCount() {
+        return buckets.estimatedSize();
+    }
+}
@@ -1,24 +1,48 @@
 package com.shubhajit.todotask.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.shubhajit.todotask.config.ReplicaRoutingDataSource;
+import com.shubhajit.todotask.config.TenantContext;
+import com.shubhajit.todotask.exception.TaskPreconditionFailedException;
+import com.shubhajit.todotask.model.TaskBatchResultDTO;
+import com.shubhajit.todotask.model.TaskChangesDTO;
 import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import com.shubhajit.todotask.model.TaskPatchDTO;
+import com.shubhajit.todotask.service.IdempotencyService;
+import com.shubhajit.todotask.service.TaskEventBroadcaster;
+import com.shubhajit.todotask.service.TaskExportService;
 import com.shubhajit.todotask.service.TaskService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * REST controller for managing to-do tasks.
@@ -30,72 +54,362 @@ import java.util.List;
 @Slf4j
 @Validated
 public class TaskController {
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final TypeReference<TaskDTO> TASK_TYPE = new TypeReference<>() { };
+    private static final TypeReference<List<TaskBatchResultDTO>> BATCH_RESULTS_TYPE = new TypeReference<>() { };
+
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Get all tasks as JSON, CBOR or Smile, depending on the Accept header.
+     * The list is streamed from the database one task at a time.
+     * The response carries an ETag of the tenant's collection; a matching If-None-Match returns 304 without loading any task.
+     *
+     * @param ifNoneMatch optional ETag from a previous response
+     * @param accept      optional Accept header
+     * @return streamed array of all TaskDTOs
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            TaskExportService.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> getAllTasks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        TaskExportService.ListFormat format = TaskExportService.ListFormat.negotiate(accept);
+        log.info("Fetching all tasks as {}", format);
+        // Read the version before the data, so a concurrent write can only make the ETag older than the body
+        String tenantId = TenantContext.current();
+        // Versions are counted per tenant, so the tenant is part of the validator; each format is its own
+        // representation with different bytes, so a strong validator must name it as well
+        String etag = "\"tasks-" + tenantId + "-" + taskService.getCollectionVersion()
+                + "-" + format.name().toLowerCase(Locale.ROOT) + "\"";
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        // The body is written on another thread, so the tenant captured above is passed along
+        StreamingResponseBody body = keepPrimaryPin(out -> taskExportService.writeTaskList(tenantId, format, out));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    /**
+     * Get one page of tasks using keyset pagination.
+     *
+     * @param cursor      opaque cursor returned by the previous page (omit for the first page)
+     * @param size        page size (1..500)
+     * @param completed   optional filter on completion status
+     * @param titlePrefix optional case-insensitive title prefix filter
+     * @return the page of TaskDTOs and the next cursor
+     */
+    @GetMapping("/page")
+    public TaskPageDTO getTaskPage(@RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size,
+                                   @RequestParam(required = false) Boolean completed,
+                                   @RequestParam(required = false) String titlePrefix) {
+        log.info("Fetching task page, size: {}", size);
+        return taskService.getTaskPage(cursor, size, completed, titlePrefix);
+    }
+
+    /**
+     * Get the tasks created, updated or deleted since a delta-sync token, in change order.
+     * Start without a token for a full sync, then keep passing back {@code nextToken}.
+     *
+     * @param since token returned by the previous response (omit to start a full sync)
+     * @param size  maximum number of changes (1..500)
+     * @return the changed tasks, deleted task ids and the next token
+     */
+    @GetMapping("/changes")
+    public TaskChangesDTO getChanges(@RequestParam(required = false) String since,
+                                     @RequestParam(defaultValue = "100") @Min(1) @Max(500) int size) {
+        log.info("Fetching task changes, size: {}", size);
+        return taskService.getChanges(since, size);
+    }
+
+    /**
+     * Full-text search over task titles and descriptions, best matches first.
+     *
+     * @param q      search terms; all must match
+     * @param cursor opaque cursor returned by the previous page (omit for the first page)
+     * @param size   page size (1..100)
+     * @return the page of matching TaskDTOs and the next cursor
+     */
+    @GetMapping("/search")
+    public TaskPageDTO searchTasks(@RequestParam @NotBlank @Size(max = 200) String q,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        log.info("Searching tasks, size: {}", size);
+        return taskService.searchTasks(q, cursor, size);
+    }
 
     /**
-     * Get all tasks.
+     * Export all tasks as a streamed file, without loading the table into memory.
      *
-     * @return list of all TaskDTOs
+     * @param format export format: ndjson (default) or csv
+     * @return streaming response body
      */
-    @GetMapping
-    public List<TaskDTO> getAllTasks() {
-        log.info("Fetching all tasks");
-        return taskService.getAllTasks();
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        TaskExportService.Format exportFormat = TaskExportService.Format.fromParameter(format);
+        log.info("Exporting all tasks as {}", exportFormat);
+        String tenantId = TenantContext.current();
+        StreamingResponseBody body = keepPrimaryPin(out -> taskExportService.exportTasks(tenantId, exportFormat, out));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks." + exportFormat.getFileExtension())
+                .body(body);
+    }
+
+    /**
+     * Stream task changes as Server-Sent Events ({@code created}, {@code updated}, {@code deleted}).
+     * A {@code reset} event means changes were missed and the client should refetch the list.
+     *
+     * @param lastEventId optional id of the last event received, to resume after a reconnect
+     * @return the event stream
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Opening task stream after event: {}", lastEventId);
+        return taskEventBroadcaster.subscribe(lastEventId);
     }
 
     /**
      * Get a task by its ID.
+     * A matching If-None-Match returns 304 without a body.
      *
-     * @param id the task ID (must be >= 1)
+     * @param id          the task ID (must be >= 1)
+     * @param ifNoneMatch optional ETag from a previous response
      * @return the TaskDTO if found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDTO> getTaskById(@PathVariable @Min(1) Long id) {
+    public ResponseEntity<TaskDTO> getTaskById(@PathVariable @Min(1) Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Fetching task with id: {}", id);
         TaskDTO dto = taskService.getTaskById(id);
-        return ResponseEntity.ok(dto);
+        String etag = taskETag(dto);
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(dto);
     }
 
     /**
      * Create a new task.
+     * With an Idempotency-Key, a retry returns the original response instead of creating the task again.
      *
-     * @param taskDTO the task data
+     * @param taskDTO        the task data
+     * @param idempotencyKey optional client-chosen key identifying this request
      * @return the created TaskDTO
      */
     @PostMapping
-    public ResponseEntity<TaskDTO> createTask(@Valid @RequestBody TaskDTO taskDTO) {
+    public ResponseEntity<TaskDTO> createTask(@Valid @RequestBody TaskDTO taskDTO,
+                                              @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         log.info("Creating new task: {}", taskDTO.getTitle());
-        TaskDTO created = taskService.saveTask(taskDTO);
+        IdempotencyService.Result<TaskDTO> result = idempotencyService.execute(
+                "POST /api/tasks", idempotencyKey, taskDTO, TASK_TYPE, () -> taskService.saveTask(taskDTO));
+        TaskDTO created = result.body();
         URI location = URI.create(String.format("/api/tasks/%d", created.getId()));
-        return ResponseEntity.created(location).body(created);
+        return ResponseEntity.created(location)
+                .eTag(taskETag(created))
+                .headers(replayedHeader(result))
+                .body(created);
     }
 
     /**
      * Update an existing task.
+     * An If-Match header (or a version in the body) makes the update conditional on the stored version.
      *
      * @param id      the task ID
      * @param taskDTO the new task data
+     * @param ifMatch optional ETag the task must still have
      * @return the updated TaskDTO
      */
     @PutMapping("/{id}")
-    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @Valid @RequestBody TaskDTO taskDTO) {
+    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @Valid @RequestBody TaskDTO taskDTO,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating task with id: {}", id);
         taskDTO.setId(id);
+        Long expectedVersion = ifMatch == null ? null : parseIfMatch(ifMatch);
+        // "*" only requires the task to exist, which an update checks anyway; a version in the body still applies
+        if (expectedVersion != null) {
+            taskDTO.setVersion(expectedVersion);
+        }
         TaskDTO updated = taskService.saveTask(taskDTO);
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok().eTag(taskETag(updated)).body(updated);
+    }
+
+    /**
+     * Partially update a task with a JSON Merge Patch; only the fields present in the body change.
+     *
+     * @param id      the task ID
+     * @param patch   the fields to change (null clears the description)
+     * @param ifMatch optional ETag the task must still have
+     * @return the updated TaskDTO
+     */
+    @PatchMapping(path = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TaskDTO> patchTask(@PathVariable Long id, @Valid @RequestBody TaskPatchDTO patch,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Patching task with id: {}", id);
+        Long expectedVersion = ifMatch == null ? null : parseIfMatch(ifMatch);
+        TaskDTO updated = taskService.patchTask(id, patch, expectedVersion);
+        return ResponseEntity.ok().eTag(taskETag(updated)).body(updated);
+    }
+
+    /**
+     * Mark a task completed, or reopen it with {@code completed=false}.
+     *
+     * @param id        the task ID
+     * @param completed the new completion status (default true)
+     * @return the updated TaskDTO
+     */
+    @PatchMapping("/{id}/complete")
+    public ResponseEntity<TaskDTO> completeTask(@PathVariable Long id, @RequestParam(defaultValue = "true") boolean completed) {
+        log.info("Setting completed: {} on task with id: {}", completed, id);
+        TaskDTO updated = taskService.completeTask(id, completed);
+        return ResponseEntity.ok().eTag(taskETag(updated)).body(updated);
+    }
+
+    /**
+     * Create several tasks in a single transaction.
+     *
+     * @param tasks          the tasks to create (1..500)
+     * @param idempotencyKey optional client-chosen key identifying this request
+     * @return per-item results, in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDTO>> createTasks(@RequestBody @Size(min = 1, max = 500) List<@Valid TaskDTO> tasks,
+                                                                @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.info("Creating batch of {} tasks", tasks.size());
+        IdempotencyService.Result<List<TaskBatchResultDTO>> result = idempotencyService.execute(
+                "POST /api/tasks/batch", idempotencyKey, tasks, BATCH_RESULTS_TYPE, () -> taskService.createTasks(tasks));
+        return ResponseEntity.ok().headers(replayedHeader(result)).body(result.body());
+    }
+
+    /**
+     * Update several tasks in a single transaction. Each task must carry its id.
+     *
+     * @param tasks          the tasks to update (1..500)
+     * @param idempotencyKey optional client-chosen key identifying this request
+     * @return per-item results, in request order
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDTO>> updateTasks(@RequestBody @Size(min = 1, max = 500) List<@Valid TaskDTO> tasks,
+                                                                @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.info("Updating batch of {} tasks", tasks.size());
+        IdempotencyService.Result<List<TaskBatchResultDTO>> result = idempotencyService.execute(
+                "PATCH /api/tasks/batch", idempotencyKey, tasks, BATCH_RESULTS_TYPE, () -> taskService.updateTasks(tasks));
+        return ResponseEntity.ok().headers(replayedHeader(result)).body(result.body());
+    }
+
+    /**
+     * Delete several tasks in a single transaction.
+     *
+     * @param ids            the task IDs to delete (1..500)
+     * @param idempotencyKey optional client-chosen key identifying this request
+     * @return per-item results, in request order
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDTO>> deleteTasks(@RequestBody @Size(min = 1, max = 500) List<@NotNull Long> ids,
+                                                                @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.info("Deleting batch of {} tasks", ids.size());
+        IdempotencyService.Result<List<TaskBatchResultDTO>> result = idempotencyService.execute(
+                "DELETE /api/tasks/batch", idempotencyKey, ids, BATCH_RESULTS_TYPE, () -> taskService.deleteTasks(ids));
+        return ResponseEntity.ok().headers(replayedHeader(result)).body(result.body());
     }
 
     /**
      * Delete a task by its ID.
+     * An If-Match header makes the delete conditional on the stored version.
      *
-     * @param id the task ID
+     * @param id      the task ID
+     * @param ifMatch optional ETag the task must still have
      * @return response entity with no content
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Deleting task with id: {}", id);
-        taskService.deleteTask(id);
-        log.info("Task deleted with id: {}", id);
+        Long expectedVersion = ifMatch == null ? null : parseIfMatch(ifMatch);
+        if (expectedVersion == null) {
+            taskService.deleteTask(id);
+        } else {
+            taskService.deleteTask(id, expectedVersion);
+        }
         return ResponseEntity.noContent().build();
     }
+
+    private static HttpHeaders replayedHeader(IdempotencyService.Result<?> result) {
+        HttpHeaders headers = new HttpHeaders();
+        if (result.replayed()) {
+            headers.set(IDEMPOTENT_REPLAYED, "true");
+        }
+        return headers;
+    }
+
+    private static String taskETag(TaskDTO dto) {
+        return "\"" + dto.getVersion() + "\"";
+    }
+
+    /**
+     * Carry the request thread's primary pin (see {@code ReadYourWritesFilter}) over to the thread that
+     * writes a streamed body, so a client that just wrote does not read a lagging replica.
+     */
+    private static StreamingResponseBody keepPrimaryPin(StreamingResponseBody body) {
+        if (!ReplicaRoutingDataSource.isPinnedToPrimary()) {
+            return body;
+        }
+        return out -> {
+            ReplicaRoutingDataSource.pinToPrimary();
+            try {
+                body.writeTo(out);
+            } finally {
+                ReplicaRoutingDataSource.unpin();
+            }
+        };
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against an ETag.
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse an If-Match header into the expected task version.
+     * @return the version, or null for "*"
+     * @throws TaskPreconditionFailedException if the header cannot match any task version
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            try {
+                return Long.parseLong(value.substring(1, value.length() - 1));
+            } catch (NumberFormatException ex) {
+                // fall through: not a task ETag
+            }
+        }
+        throw new TaskPreconditionFailedException("If-Match does not match the current task version: " + ifMatch);
+    }
 }
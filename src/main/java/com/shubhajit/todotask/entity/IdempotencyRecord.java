@@ -0,0 +1,43 @@
+package com.shubhajit.todotask.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response stored for an Idempotency-Key, so a retried request gets the original response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class IdempotencyRecord {
+    /**
+     * Tenant, endpoint scope and client key, e.g. {@code "default POST /api/tasks abc-123"}.
+     */
+    @Id
+    @Column(length = 320)
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 of the request body, to reject reuse of a key for a different request.
+     */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * Response body as JSON; null while the first request is still in flight.
+     */
+    @Column(length = 1_000_000)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -1,27 +1,128 @@
 package com.shubhajit.todotask.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.PartitionKey;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.Locale;
 
 /**
- * JPA entity representing a to-do task.
+ * JPA entity representing a to-do task, owned by one tenant.
+ * The table is partitioned by {@link #shard}, which is derived from the tenant and also encoded in the id.
+ * Every query names the tenant, so the secondary indexes lead with it.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-public class Task {
+@Table(indexes = {
+        @Index(name = "UX_TASK_TENANT_TITLE_KEY", columnList = "tenantId, titleKey, shard", unique = true),
+        @Index(name = "IX_TASK_TENANT_ID", columnList = "tenantId, id"),
+        @Index(name = "IX_TASK_TENANT_COMPLETED_ID", columnList = "tenantId, completed, id"),
+        @Index(name = "IX_TASK_TENANT_CHANGE_SEQ_ID", columnList = "tenantId, changeSeq, id")
+})
+public class Task implements Persistable<Long> {
+    /**
+     * Owner of the tasks created before tenants existed.
+     */
+    public static final String DEFAULT_TENANT = "default";
+
+    /**
+     * Assigned by {@code TaskIdGenerator} before insert, so inserts need no sequence round trip.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Column(nullable = false, length = 64)
+    private String tenantId;
+    /**
+     * Partition of the row; Hibernate adds it to the WHERE clause of entity updates and deletes.
+     */
+    @PartitionKey
+    @Column(nullable = false)
+    private int shard;
+    @Column(length = 100)
     private String title;
+    /**
+     * Lower-cased copy of the title, backing the case-insensitive unique index.
+     */
+    @Column(nullable = false, length = 100)
+    private String titleKey;
     private String description;
     private boolean completed;
+    /**
+     * Optimistic-lock version, managed by Hibernate and exposed to clients as the ETag.
+     */
+    @Version
+    private long version;
+    /**
+     * Value of the tenant's change counter at this task's last write; orders the delta-sync feed.
+     */
+    @Column(nullable = false)
+    private long changeSeq;
+    private Instant lastModified;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    /**
+     * Normalize a title to the form stored in {@code titleKey}.
+     * @param title the raw title
+     * @return the lower-cased title, or null if title is null
+     */
+    public static String normalizeTitle(String title) {
+        return title == null ? null : title.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Stamp this task as written in the given change.
+     * @param changeSeq the change sequence of the write
+     */
+    public void markChanged(long changeSeq) {
+        this.changeSeq = changeSeq;
+        this.lastModified = Instant.now();
+    }
+
+    /**
+     * The id is assigned up front, so ask Spring Data to insert rather than merge until the row exists.
+     */
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateTitleKey() {
+        this.titleKey = normalizeTitle(title);
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
 }
@@ -0,0 +1,53 @@
+package com.shubhajit.todotask.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Per-tenant counter incremented by every write to the tenant's tasks.
+ * Its value identifies a state of the tenant's task collection, and is the change sequence stamped on the written rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(name = "IX_TASK_CHANGE_COUNTER_LAST_CHANGED", columnList = "lastChanged"))
+public class TaskChangeCounter implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String tenantId;
+    private long changeCount;
+    /**
+     * Highest change sequence of a compacted tombstone; delta-sync tokens from before it have expired.
+     */
+    private long compactedSeq;
+    /**
+     * Database time of the last increment, which lets other nodes find the tenants changed since they last looked.
+     */
+    @Column(nullable = false)
+    private Instant lastChanged;
+
+    @Override
+    public String getId() {
+        return tenantId;
+    }
+
+    /**
+     * Rows are inserted once and only changed by bulk updates afterwards; this skips the merge lookup.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package com.shubhajit.todotask.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Claim of one task id node by a running instance, valid until {@link #expiresAt}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class TaskNodeLease implements Persistable<Integer> {
+    @Id
+    private Integer nodeId;
+
+    /**
+     * Instance holding the lease, as {@code pid@host}.
+     */
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Override
+    public Integer getId() {
+        return nodeId;
+    }
+
+    /**
+     * Rows are inserted once and only changed by bulk updates afterwards; this skips the merge lookup.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package com.shubhajit.todotask.entity;
+
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Task change recorded in the same transaction as the change itself, waiting to be relayed downstream.
+ * The change sequence orders a tenant's events; the id is unique, so consumers can discard redeliveries.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(name = "IX_TASK_OUTBOX_EVENT_CHANGE_SEQ", columnList = "changeSeq, id"))
+public class TaskOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "TASK_OUTBOX_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TaskChangedEvent.Type eventType;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    /**
+     * Change sequence of the write within its tenant, shared by all events of one write. Sequences are
+     * issued in commit order, unlike ids, which each node takes from its own block of the sequence.
+     */
+    @Column(nullable = false)
+    private long changeSeq;
+
+    /**
+     * The event as JSON ({@code {type, tenantId, changeSeq, id, task}}).
+     */
+    @Column(length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,58 @@
+package com.shubhajit.todotask.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Record of a deleted task, kept so delta-sync clients learn about the deletion.
+ * Compacted once older than the retention window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = {
+        @Index(name = "IX_TASK_TOMBSTONE_TENANT_CHANGE_SEQ", columnList = "tenantId, changeSeq, id"),
+        @Index(name = "IX_TASK_TOMBSTONE_DELETED_AT", columnList = "deletedAt")
+})
+public class TaskTombstone implements Persistable<Long> {
+    /**
+     * Id of the deleted task.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Tenant that owned the task.
+     */
+    @Column(nullable = false, length = 64)
+    private String tenantId;
+
+    /**
+     * Change sequence of the deletion (see {@link Task#getChangeSeq()}).
+     */
+    @Column(nullable = false)
+    private long changeSeq;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+    /**
+     * Task ids are never reused, so a tombstone is always inserted; this skips the merge lookup.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.shubhajit.todotask.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Running count of a tenant's tasks, kept up to date by every task insert and delete,
+ * so quotas are checked against this row instead of counting the tenant's tasks.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class TenantUsage implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String tenantId;
+
+    private long taskCount;
+
+    /**
+     * Rows are inserted once and only changed by bulk updates afterwards; this skips the merge lookup.
+     */
+    @Override
+    public String getId() {
+        return tenantId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.shubhajit.todotask.event;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.shubhajit.todotask.model.TaskDTO;
+
+/**
+ * Application event published by the service layer whenever a task is created, updated or deleted.
+ * Listeners that need committed data should use {@code @TransactionalEventListener}.
+ *
+ * @param type      the kind of change
+ * @param tenantId  the tenant owning the task
+ * @param changeSeq the change sequence of the write (see {@code Task#getChangeSeq()}), shared by every task it changed
+ * @param id        the id of the changed task, serialized as a string like {@link TaskDTO}'s
+ * @param task      the task state after the change, or null for deletions
+ */
+public record TaskChangedEvent(Type type, String tenantId, long changeSeq,
+                               @JsonSerialize(using = ToStringSerializer.class) Long id,
+                               TaskDTO task) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(String tenantId, long changeSeq, TaskDTO task) {
+        return new TaskChangedEvent(Type.CREATED, tenantId, changeSeq, task.getId(), task);
+    }
+
+    public static TaskChangedEvent updated(String tenantId, long changeSeq, TaskDTO task) {
+        return new TaskChangedEvent(Type.UPDATED, tenantId, changeSeq, task.getId(), task);
+    }
+
+    public static TaskChangedEvent deleted(String tenantId, long changeSeq, Long id) {
+        return new TaskChangedEvent(Type.DELETED, tenantId, changeSeq, id, null);
+    }
+}
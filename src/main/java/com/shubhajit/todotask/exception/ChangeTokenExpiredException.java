@@ -0,0 +1,10 @@
+package com.shubhajit.todotask.exception;
+
+/**
+ * Exception thrown when a delta-sync token predates compacted tombstones, so the client must resync in full.
+ */
+public class ChangeTokenExpiredException extends RuntimeException {
+    public ChangeTokenExpiredException(String message) {
+        super(message);
+    }
+}
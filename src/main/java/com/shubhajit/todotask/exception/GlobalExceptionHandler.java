@@ -1,8 +1,14 @@
 package com.shubhajit.todotask.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -16,6 +22,10 @@ import java.util.stream.Collectors;
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    // Registered on the global registry, which Spring Boot wires to its configured registries
+    private final Counter taskNotFoundCounter = Metrics.counter("tasks.errors", "exception", "TaskNotFoundException");
+    private final Counter taskAlreadyExistsCounter = Metrics.counter("tasks.errors", "exception", "TaskAlreadyExistsException");
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidationException(MethodArgumentNotValidException ex, WebRequest request) {
         String message = ex.getBindingResult().getFieldErrors().stream()
@@ -34,6 +44,30 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    @ExceptionHandler(InvalidTaskRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidTaskRequest(InvalidTaskRequestException ex, WebRequest request) {
+        ApiError error = new ApiError(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(ChangeTokenExpiredException.class)
+    public ResponseEntity<ApiError> handleChangeTokenExpired(ChangeTokenExpiredException ex, WebRequest request) {
+        ApiError error = new ApiError(HttpStatus.GONE, ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return ResponseEntity.status(HttpStatus.GONE).body(error);
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ApiError> handleDatabaseUnavailable(Exception ex, WebRequest request) {
+        ApiError error = new ApiError(HttpStatus.SERVICE_UNAVAILABLE, "Database is busy, please retry later", request.getDescription(false).replace("uri=", ""));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex) {
+        // No body: none of the client's accepted formats can carry an ApiError
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleOtherExceptions(Exception ex, WebRequest request) {
         ApiError error = new ApiError(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), request.getDescription(false).replace("uri=", ""));
@@ -42,13 +76,45 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(TaskNotFoundException.class)
     public ResponseEntity<ApiError> handleTaskNotFound(TaskNotFoundException ex, WebRequest request) {
+        taskNotFoundCounter.increment();
         ApiError error = new ApiError(HttpStatus.NOT_FOUND, ex.getMessage(), request.getDescription(false).replace("uri=", ""));
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
     @ExceptionHandler(TaskAlreadyExistsException.class)
     public ResponseEntity<ApiError> handleTaskAlreadyExists(TaskAlreadyExistsException ex, WebRequest request) {
+        taskAlreadyExistsCounter.increment();
+        ApiError error = new ApiError(HttpStatus.CONFLICT, ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(TaskPreconditionFailedException.class)
+    public ResponseEntity<ApiError> handleTaskPreconditionFailed(TaskPreconditionFailedException ex, WebRequest request) {
+        ApiError error = new ApiError(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, WebRequest request) {
+        ApiError error = new ApiError(HttpStatus.PRECONDITION_FAILED, "Task was modified concurrently", request.getDescription(false).replace("uri=", ""));
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex, WebRequest request) {
+        ApiError error = new ApiError(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyConflict(IdempotencyKeyConflictException ex, WebRequest request) {
         ApiError error = new ApiError(HttpStatus.CONFLICT, ex.getMessage(), request.getDescription(false).replace("uri=", ""));
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
+
+    @ExceptionHandler(TaskQuotaExceededException.class)
+    public ResponseEntity<ApiError> handleTaskQuotaExceeded(TaskQuotaExceededException ex, WebRequest request) {
+        ApiError error = new ApiError(HttpStatus.FORBIDDEN, ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+    }
 }
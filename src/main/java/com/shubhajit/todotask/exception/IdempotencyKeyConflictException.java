@@ -0,0 +1,10 @@
+package com.shubhajit.todotask.exception;
+
+/**
+ * Exception thrown when a request with the same Idempotency-Key is still being processed.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
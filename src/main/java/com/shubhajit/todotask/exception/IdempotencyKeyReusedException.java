@@ -0,0 +1,10 @@
+package com.shubhajit.todotask.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key is sent again with a different request body.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
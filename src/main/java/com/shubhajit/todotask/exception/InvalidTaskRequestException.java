@@ -0,0 +1,10 @@
+package com.shubhajit.todotask.exception;
+
+/**
+ * Exception thrown when a task request carries a malformed parameter (e.g. a bad cursor).
+ */
+public class InvalidTaskRequestException extends RuntimeException {
+    public InvalidTaskRequestException(String message) {
+        super(message);
+    }
+}
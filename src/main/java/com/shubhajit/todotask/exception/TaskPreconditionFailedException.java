@@ -0,0 +1,10 @@
+package com.shubhajit.todotask.exception;
+
+/**
+ * Exception thrown when a conditional write targets a task version that is no longer current.
+ */
+public class TaskPreconditionFailedException extends RuntimeException {
+    public TaskPreconditionFailedException(String message) {
+        super(message);
+    }
+}
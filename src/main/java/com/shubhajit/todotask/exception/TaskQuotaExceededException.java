@@ -0,0 +1,10 @@
+package com.shubhajit.todotask.exception;
+
+/**
+ * Exception thrown when a write would take a tenant over its task quota.
+ */
+public class TaskQuotaExceededException extends RuntimeException {
+    public TaskQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.shubhajit.todotask.exception;
+
+/**
+ * Exception thrown when a request's tenant cannot be established: a missing, invalid or expired token,
+ * or no tenant at all where one is required.
+ */
+public class TenantUnauthorizedException extends RuntimeException {
+    public TenantUnauthorizedException(String message) {
+        super(message);
+    }
+
+    public TenantUnauthorizedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -5,6 +5,7 @@ import com.shubhajit.todotask.model.TaskDTO;
 
 /**
  * Utility class for mapping between Task entity and TaskDTO.
+ * Uses constructors and setters rather than the Lombok builders, which allocate an extra builder per call.
  */
 public class TaskMapper {
     private TaskMapper() {}
@@ -16,26 +17,23 @@ public class TaskMapper {
      */
     public static TaskDTO toDTO(Task task) {
         if (task == null) return null;
-        return TaskDTO.builder()
-                .id(task.getId())
-                .title(task.getTitle())
-                .description(task.getDescription())
-                .completed(task.isCompleted())
-                .build();
+        return new TaskDTO(task.getId(), task.getTitle(), task.getDescription(), task.isCompleted(),
+                task.getVersion(), task.getLastModified());
     }
 
     /**
      * Convert TaskDTO to Task entity.
+     * The version is left for Hibernate to manage.
      * @param dto the TaskDTO
      * @return the Task entity
      */
     public static Task toEntity(TaskDTO dto) {
         if (dto == null) return null;
-        return Task.builder()
-                .id(dto.getId())
-                .title(dto.getTitle())
-                .description(dto.getDescription())
-                .completed(dto.isCompleted())
-                .build();
+        Task task = new Task();
+        task.setId(dto.getId());
+        task.setTitle(dto.getTitle());
+        task.setDescription(dto.getDescription());
+        task.setCompleted(dto.isCompleted());
+        return task;
     }
 }
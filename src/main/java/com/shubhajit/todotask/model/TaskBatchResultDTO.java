@@ -0,0 +1,26 @@
+package com.shubhajit.todotask.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single item in a batch request.
+ * {@code status} is the HTTP status the item would have received as a standalone request.
+ * {@code id} is written as a string, like {@link TaskDTO}'s.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchResultDTO {
+    private int index;
+    private int status;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+    private TaskDTO task;
+    private String error;
+}
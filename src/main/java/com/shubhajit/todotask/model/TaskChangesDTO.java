@@ -0,0 +1,27 @@
+package com.shubhajit.todotask.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Tasks created, updated or deleted since a delta-sync token, in change order.
+ * Ids in {@code deleted} are written as strings, like {@link TaskDTO}'s.
+ * {@code nextToken} is always set: pass it back to continue, and poll with it once {@code hasMore} is false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChangesDTO {
+    private List<TaskDTO> changed;
+    @JsonSerialize(contentUsing = ToStringSerializer.class)
+    private List<Long> deleted;
+    private String nextToken;
+    private boolean hasMore;
+}
@@ -1,5 +1,6 @@
 package com.shubhajit.todotask.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -7,10 +8,13 @@ import lombok.Builder;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.time.Instant;
+
 /**
  * Data Transfer Object for Task.
- * Used for API requests and responses.
+ * Used for API requests and responses; serialized by {@link TaskDTOSerializer}.
  */
+@JsonSerialize(using = TaskDTOSerializer.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,4 +27,12 @@ public class TaskDTO {
     @Size(max = 255, message = "Description must be at most 255 characters")
     private String description;
     private boolean completed;
+    /**
+     * Server-managed version; when sent on update it must match the stored version.
+     */
+    private Long version;
+    /**
+     * Server-managed time of the last write; ignored on input.
+     */
+    private Instant lastModified;
 }
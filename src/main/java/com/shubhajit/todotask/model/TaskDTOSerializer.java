@@ -0,0 +1,61 @@
+package com.shubhajit.todotask.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link TaskDTO} field by field, producing the same output as the default bean serializer
+ * (same names, same order, nulls included) without its reflective property access.
+ * Field names are pre-encoded once and reused for every task.
+ * <p>
+ * The id is written as a string in every format: ids use up to 63 bits, beyond what a JavaScript
+ * number holds exactly. Reading accepts both a string and a number.
+ */
+public class TaskDTOSerializer extends StdSerializer<TaskDTO> {
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString COMPLETED = new SerializedString("completed");
+    private static final SerializableString VERSION = new SerializedString("version");
+    private static final SerializableString LAST_MODIFIED = new SerializedString("lastModified");
+
+    public TaskDTOSerializer() {
+        super(TaskDTO.class);
+    }
+
+    @Override
+    public void serialize(TaskDTO task, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(task);
+        generator.writeFieldName(ID);
+        if (task.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(Long.toString(task.getId()));
+        }
+        generator.writeFieldName(TITLE);
+        generator.writeString(task.getTitle());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(task.getDescription());
+        generator.writeFieldName(COMPLETED);
+        generator.writeBoolean(task.isCompleted());
+        generator.writeFieldName(VERSION);
+        if (task.getVersion() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(task.getVersion());
+        }
+        generator.writeFieldName(LAST_MODIFIED);
+        if (task.getLastModified() == null) {
+            generator.writeNull();
+        } else {
+            // Dates follow the mapper's configuration (JavaTimeModule, WRITE_DATES_AS_TIMESTAMPS)
+            provider.defaultSerializeValue(task.getLastModified(), generator);
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,21 @@
+package com.shubhajit.todotask.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A single page of tasks returned by keyset pagination.
+ * {@code nextCursor} is an opaque token for the following page, or null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPageDTO {
+    private List<TaskDTO> items;
+    private String nextCursor;
+}
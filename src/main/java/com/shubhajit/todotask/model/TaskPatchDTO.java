@@ -0,0 +1,25 @@
+package com.shubhajit.todotask.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.Optional;
+
+/**
+ * JSON Merge Patch (RFC 7386) document for a task.
+ * A null field was absent from the patch and is left unchanged; an empty Optional
+ * was an explicit JSON null and clears the field; a present value replaces it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPatchDTO {
+    private Optional<@NotBlank(message = "Title is required") @Size(max = 100, message = "Title must be at most 100 characters") String> title;
+    private Optional<@Size(max = 255, message = "Description must be at most 255 characters") String> description;
+    private Optional<Boolean> completed;
+}
@@ -0,0 +1,23 @@
+package com.shubhajit.todotask.repository;
+
+import com.shubhajit.todotask.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    /**
+     * Delete up to {@code limit} expired records with one statement.
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM IDEMPOTENCY_RECORD WHERE IDEMPOTENCY_KEY IN ("
+            + "SELECT IDEMPOTENCY_KEY FROM IDEMPOTENCY_RECORD WHERE EXPIRES_AT < :now ORDER BY EXPIRES_AT LIMIT :limit)",
+            nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -0,0 +1,50 @@
+package com.shubhajit.todotask.repository;
+
+import com.shubhajit.todotask.entity.TaskChangeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskChangeCounterRepository extends JpaRepository<TaskChangeCounter, String> {
+    /**
+     * Atomically increment a tenant's counter row and stamp it with the database time.
+     * @return number of rows updated (0 if the row has not been created yet)
+     */
+    @Modifying
+    @Query("update TaskChangeCounter c set c.changeCount = c.changeCount + 1, c.lastChanged = current_timestamp"
+            + " where c.tenantId = :tenantId")
+    int increment(@Param("tenantId") String tenantId);
+
+    /**
+     * @return the counters bumped at or after the given database time
+     */
+    @Query("select c from TaskChangeCounter c where c.lastChanged >= :since")
+    List<TaskChangeCounter> findChangedSince(@Param("since") Instant since);
+
+    /**
+     * @return the database time of the latest bump of any tenant's counter
+     */
+    @Query("select max(c.lastChanged) from TaskChangeCounter c")
+    Optional<Instant> findLastChanged();
+
+    @Query("select c.changeCount from TaskChangeCounter c where c.tenantId = :tenantId")
+    Optional<Long> findChangeCount(@Param("tenantId") String tenantId);
+
+    @Query("select c.compactedSeq from TaskChangeCounter c where c.tenantId = :tenantId")
+    Optional<Long> findCompactedSeq(@Param("tenantId") String tenantId);
+
+    /**
+     * Raise a tenant's compaction watermark, never lowering it.
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("update TaskChangeCounter c set c.compactedSeq = :seq where c.tenantId = :tenantId and c.compactedSeq < :seq")
+    int raiseCompactedSeq(@Param("tenantId") String tenantId, @Param("seq") long seq);
+}
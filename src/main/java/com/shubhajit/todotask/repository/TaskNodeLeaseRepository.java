@@ -0,0 +1,27 @@
+package com.shubhajit.todotask.repository;
+
+import com.shubhajit.todotask.entity.TaskNodeLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface TaskNodeLeaseRepository extends JpaRepository<TaskNodeLease, Integer> {
+    /**
+     * Take or extend the lease of a node, unless another owner holds it and it has not expired.
+     * @return number of rows updated (0 if the lease is held by someone else or has not been created yet)
+     */
+    @Modifying
+    @Query("update TaskNodeLease l set l.owner = :owner, l.expiresAt = :expiresAt"
+            + " where l.nodeId = :nodeId and (l.owner = :owner or l.expiresAt < :now)")
+    int claim(@Param("nodeId") int nodeId, @Param("owner") String owner,
+              @Param("now") Instant now, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("delete from TaskNodeLease l where l.nodeId = :nodeId and l.owner = :owner")
+    int release(@Param("nodeId") int nodeId, @Param("owner") String owner);
+}
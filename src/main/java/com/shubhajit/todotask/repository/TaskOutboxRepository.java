@@ -0,0 +1,24 @@
+package com.shubhajit.todotask.repository;
+
+import com.shubhajit.todotask.entity.TaskOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEvent, Long> {
+    /**
+     * Lock the oldest pending events, skipping rows already locked by another relay,
+     * so several nodes can drain the outbox concurrently without double-publishing.
+     * Change sequences are per tenant, so the order is each tenant's commit order, with the
+     * events of one write in id order; events of different tenants are merely interleaved.
+     * @param limit maximum number of events to lock
+     * @return the locked events in (change sequence, id) order
+     */
+    @Query(value = "SELECT * FROM TASK_OUTBOX_EVENT ORDER BY CHANGE_SEQ, ID LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<TaskOutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
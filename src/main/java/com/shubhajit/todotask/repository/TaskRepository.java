@@ -1,9 +1,149 @@
 package com.shubhajit.todotask.repository;
 
 import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.model.TaskDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    // Every query is scoped to one tenant. It names the tenant's shard, so the database only visits
+    // that partition, and the tenant id, which leads the secondary indexes so the query never reads
+    // another tenant's index entries. A task id of another tenant simply matches no row.
+
+    /**
+     * Check whether a tenant has a task with the given normalized title, using the unique title index.
+     * @param shard    the tenant's shard
+     * @param tenantId the tenant
+     * @param titleKey the lower-cased title (see {@link Task#normalizeTitle(String)})
+     * @return true if a task with that title exists
+     */
+    boolean existsByShardAndTenantIdAndTitleKey(int shard, String tenantId, String titleKey);
+
+    List<Task> findByShardAndTenantIdAndTitleKeyIn(int shard, String tenantId, Collection<String> titleKeys);
+
+    @Query("select t.titleKey from Task t where t.shard = :shard and t.tenantId = :tenantId and t.titleKey in :titleKeys")
+    List<String> findExistingTitleKeys(@Param("shard") int shard, @Param("tenantId") String tenantId,
+                                       @Param("titleKeys") Collection<String> titleKeys);
+
+    Optional<Task> findByShardAndTenantIdAndId(int shard, String tenantId, Long id);
+
+    boolean existsByShardAndTenantIdAndId(int shard, String tenantId, Long id);
+
+    List<Task> findByShardAndTenantIdAndIdIn(int shard, String tenantId, Collection<Long> ids);
+
+    @Query("select t.id from Task t where t.shard = :shard and t.tenantId = :tenantId and t.id in :ids")
+    List<Long> findExistingIds(@Param("shard") int shard, @Param("tenantId") String tenantId,
+                               @Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete a task with a single DELETE, without loading it first.
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from Task t where t.shard = :shard and t.tenantId = :tenantId and t.id = :id")
+    int deleteByShardAndTenantIdAndId(@Param("shard") int shard, @Param("tenantId") String tenantId, @Param("id") Long id);
+
+    /**
+     * Delete a task only if it still has the expected version.
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from Task t where t.shard = :shard and t.tenantId = :tenantId and t.id = :id and t.version = :version")
+    int deleteByShardAndTenantIdAndIdAndVersion(@Param("shard") int shard, @Param("tenantId") String tenantId,
+                                                @Param("id") Long id, @Param("version") long version);
+
+    @Modifying
+    @Query("delete from Task t where t.shard = :shard and t.tenantId = :tenantId and t.id in :ids")
+    int deleteByShardAndTenantIdAndIdIn(@Param("shard") int shard, @Param("tenantId") String tenantId,
+                                        @Param("ids") Collection<Long> ids);
+
+    /**
+     * Set the completion flag of a task with a single UPDATE touching only that column, the version
+     * and the change stamp.
+     * @return number of rows updated (0 if the task does not exist)
+     */
+    @Modifying
+    @Query("update Task t set t.completed = :completed, t.version = t.version + 1,"
+            + " t.changeSeq = :changeSeq, t.lastModified = :lastModified"
+            + " where t.shard = :shard and t.tenantId = :tenantId and t.id = :id")
+    int updateCompleted(@Param("shard") int shard, @Param("tenantId") String tenantId, @Param("id") Long id,
+                        @Param("completed") boolean completed, @Param("changeSeq") long changeSeq,
+                        @Param("lastModified") Instant lastModified);
+
+    /**
+     * A tenant's tasks written after a (change sequence, id) position, in feed order; backs delta sync.
+     */
+    @Query("select t from Task t where t.shard = :shard and t.tenantId = :tenantId"
+            + " and (t.changeSeq > :seq or (t.changeSeq = :seq and t.id > :id)) order by t.changeSeq, t.id")
+    List<Task> findChangedAfter(@Param("shard") int shard, @Param("tenantId") String tenantId,
+                                @Param("seq") long seq, @Param("id") long id, Limit limit);
+
+    /**
+     * Ids of a tenant's tasks written after a change sequence.
+     */
+    @Query("select t.id from Task t where t.shard = :shard and t.tenantId = :tenantId and t.changeSeq > :seq")
+    List<Long> findIdsChangedAfter(@Param("shard") int shard, @Param("tenantId") String tenantId, @Param("seq") long seq);
+
+    // Read paths project straight into TaskDTO with a JPQL constructor expression: no managed entity,
+    // no persistence-context snapshot and no second mapping object per row.
+
+    String TASK_DTO_SELECT = "select new com.shubhajit.todotask.model.TaskDTO("
+            + "t.id, t.title, t.description, t.completed, t.version, t.lastModified) from Task t";
+
+    String TENANT_SCOPE = " where t.shard = :shard and t.tenantId = :tenantId";
+
+    @Query(TASK_DTO_SELECT + TENANT_SCOPE + " and t.id = :id")
+    Optional<TaskDTO> findDTOById(@Param("shard") int shard, @Param("tenantId") String tenantId, @Param("id") Long id);
+
+    @Query(TASK_DTO_SELECT + TENANT_SCOPE + " order by t.id")
+    List<TaskDTO> findAllDTOs(@Param("shard") int shard, @Param("tenantId") String tenantId);
+
+    // Keyset pagination: each page starts strictly after the last id of the previous one,
+    // so the database seeks on a (tenant, ..., id) index instead of skipping rows with OFFSET.
+    // Title patterns are LIKE patterns with backslash as the escape character.
+
+    @Query(TASK_DTO_SELECT + TENANT_SCOPE + " and t.id > :afterId order by t.id")
+    List<TaskDTO> findDTOsAfter(@Param("shard") int shard, @Param("tenantId") String tenantId,
+                                @Param("afterId") Long afterId, Limit limit);
+
+    @Query(TASK_DTO_SELECT + TENANT_SCOPE + " and t.id > :afterId and t.completed = :completed order by t.id")
+    List<TaskDTO> findDTOsAfterByCompleted(@Param("shard") int shard, @Param("tenantId") String tenantId,
+                                           @Param("afterId") Long afterId, @Param("completed") boolean completed,
+                                           Limit limit);
+
+    @Query(TASK_DTO_SELECT + TENANT_SCOPE + " and t.id > :afterId and t.titleKey like :pattern escape '\\' order by t.id")
+    List<TaskDTO> findDTOsAfterByTitleKeyLike(@Param("shard") int shard, @Param("tenantId") String tenantId,
+                                              @Param("afterId") Long afterId, @Param("pattern") String pattern,
+                                              Limit limit);
+
+    @Query(TASK_DTO_SELECT + TENANT_SCOPE + " and t.id > :afterId and t.completed = :completed"
+            + " and t.titleKey like :pattern escape '\\' order by t.id")
+    List<TaskDTO> findDTOsAfterByCompletedAndTitleKeyLike(@Param("shard") int shard, @Param("tenantId") String tenantId,
+                                                          @Param("afterId") Long afterId,
+                                                          @Param("completed") boolean completed,
+                                                          @Param("pattern") String pattern, Limit limit);
+
+    /**
+     * Stream a tenant's tasks in id order through a server-side cursor, fetching rows in batches.
+     * Rows are projected into DTOs, so nothing accumulates in the persistence context.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return stream of TaskDTOs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_DTO_SELECT + TENANT_SCOPE + " order by t.id")
+    Stream<TaskDTO> streamAllDTOs(@Param("shard") int shard, @Param("tenantId") String tenantId);
 }
@@ -0,0 +1,20 @@
+package com.shubhajit.todotask.repository;
+
+import java.util.Map;
+
+/**
+ * Custom repository operations for tasks that Spring Data cannot derive.
+ */
+public interface TaskRepositoryCustom {
+    /**
+     * Update only the given attributes of a task, and bump its version and change stamp, with a single UPDATE statement.
+     * @param shard           the tenant's shard
+     * @param tenantId        the tenant owning the task
+     * @param id              the task ID
+     * @param changes         new values keyed by entity attribute name
+     * @param expectedVersion version the task must have, or null for an unconditional update
+     * @param changeSeq       change sequence of this write
+     * @return number of rows updated (0 if the task does not exist or has another version)
+     */
+    int patchById(int shard, String tenantId, Long id, Map<String, Object> changes, Long expectedVersion, long changeSeq);
+}
@@ -0,0 +1,46 @@
+package com.shubhajit.todotask.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the patch UPDATE from the changed attributes only, so untouched columns are not rewritten.
+ */
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    private static final Set<String> PATCHABLE_ATTRIBUTES = Set.of("title", "titleKey", "description", "completed");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int patchById(int shard, String tenantId, Long id, Map<String, Object> changes, Long expectedVersion, long changeSeq) {
+        StringBuilder jpql = new StringBuilder(
+                "update Task t set t.version = t.version + 1, t.changeSeq = :changeSeq, t.lastModified = :lastModified");
+        for (String attribute : changes.keySet()) {
+            if (!PATCHABLE_ATTRIBUTES.contains(attribute)) {
+                throw new IllegalArgumentException("Task attribute cannot be patched: " + attribute);
+            }
+            jpql.append(", t.").append(attribute).append(" = :").append(attribute);
+        }
+        jpql.append(" where t.shard = :shard and t.tenantId = :tenantId and t.id = :id");
+        if (expectedVersion != null) {
+            jpql.append(" and t.version = :expectedVersion");
+        }
+        Query query = entityManager.createQuery(jpql.toString());
+        changes.forEach(query::setParameter);
+        query.setParameter("changeSeq", changeSeq);
+        query.setParameter("lastModified", Instant.now());
+        query.setParameter("shard", shard);
+        query.setParameter("tenantId", tenantId);
+        query.setParameter("id", id);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,30 @@
+package com.shubhajit.todotask.repository;
+
+import com.shubhajit.todotask.entity.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    /**
+     * A tenant's deletions after a (change sequence, id) position, in feed order.
+     */
+    @Query("select t from TaskTombstone t where t.tenantId = :tenantId"
+            + " and (t.changeSeq > :seq or (t.changeSeq = :seq and t.id > :id)) order by t.changeSeq, t.id")
+    List<TaskTombstone> findDeletedAfter(@Param("tenantId") String tenantId, @Param("seq") long seq, @Param("id") long id,
+                                         Limit limit);
+
+    /**
+     * Ids of a tenant's tasks deleted after a change sequence.
+     */
+    @Query("select t.id from TaskTombstone t where t.tenantId = :tenantId and t.changeSeq > :seq")
+    List<Long> findIdsDeletedAfter(@Param("tenantId") String tenantId, @Param("seq") long seq);
+
+    List<TaskTombstone> findByDeletedAtBeforeOrderByChangeSeqAsc(Instant cutoff, Limit limit);
+}
@@ -0,0 +1,28 @@
+package com.shubhajit.todotask.repository;
+
+import com.shubhajit.todotask.entity.TenantUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TenantUsageRepository extends JpaRepository<TenantUsage, String> {
+    /**
+     * Add tasks to a tenant's count if the new count stays within the limit, in one UPDATE.
+     * @return number of rows updated (0 if the limit would be exceeded or the row does not exist yet)
+     */
+    @Modifying
+    @Query("update TenantUsage u set u.taskCount = u.taskCount + :count"
+            + " where u.tenantId = :tenantId and u.taskCount + :count <= :limit")
+    int addTasks(@Param("tenantId") String tenantId, @Param("count") long count, @Param("limit") long limit);
+
+    /**
+     * Take deleted tasks off a tenant's count.
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("update TenantUsage u set u.taskCount = u.taskCount - :count where u.tenantId = :tenantId")
+    int removeTasks(@Param("tenantId") String tenantId, @Param("count") long count);
+}
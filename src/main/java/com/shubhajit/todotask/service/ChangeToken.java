@@ -0,0 +1,74 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Delta-sync position: the change sequence and id of the last change returned, and the
+ * sequence up to which the client is known to be in sync.
+ * <p>
+ * {@code floor} starts at the collection version of the client's first request, since deletions
+ * before then concern tasks it never saw, and rises with each change it receives. A token has
+ * expired once tombstones above its floor have been compacted.
+ *
+ * @param seq   change sequence of the last change on the previous page
+ * @param id    task id of the last change on the previous page
+ * @param floor change sequence the client has applied every change up to
+ */
+public record ChangeToken(long seq, long id, long floor) {
+
+    /**
+     * Position of a client starting a full sync at the given collection version.
+     *
+     * @param collectionVersion the current collection change count
+     * @return a token before every stored change
+     */
+    public static ChangeToken start(long collectionVersion) {
+        return new ChangeToken(0L, 0L, collectionVersion);
+    }
+
+    /**
+     * Position after a later change.
+     *
+     * @param seq change sequence of the change
+     * @param id  task id of the change
+     * @return the advanced token
+     */
+    public ChangeToken advance(long seq, long id) {
+        return new ChangeToken(seq, id, Math.max(floor, seq));
+    }
+
+    /**
+     * Encode this position as an opaque, URL-safe token.
+     *
+     * @return the change token
+     */
+    public String encode() {
+        String raw = seq + ":" + id + ":" + floor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token the change token, may be null or empty
+     * @return the decoded position, or null for a full sync
+     * @throws InvalidTaskRequestException if the token is malformed
+     */
+    public static ChangeToken decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected three parts");
+            }
+            return new ChangeToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTaskRequestException("Invalid change token: " + token);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.entity.TaskOutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink that appends each event as one NDJSON line ({@code {"outboxId":..,"event":..}}) to a local file.
+ */
+@Component
+@ConditionalOnProperty(name = "todotask.outbox.sink", havingValue = "file")
+public class FileTaskEventSink implements TaskEventSink {
+    private final Path file;
+
+    public FileTaskEventSink(@Value("${todotask.outbox.file:logs/task-events.ndjson}") Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void publish(List<TaskOutboxEvent> events) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (TaskOutboxEvent event : events) {
+                    writer.write("{\"outboxId\":" + event.getId() + ",\"event\":" + event.getPayload() + "}");
+                    writer.newLine();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.shubhajit.todotask.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubhajit.todotask.config.CacheConfig;
+import com.shubhajit.todotask.config.TenantContext;
+import com.shubhajit.todotask.entity.IdempotencyRecord;
+import com.shubhajit.todotask.exception.IdempotencyKeyConflictException;
+import com.shubhajit.todotask.exception.IdempotencyKeyReusedException;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Makes writes safe to retry with an {@code Idempotency-Key}.
+ * <p>
+ * The first request claims the key by inserting its record in the same transaction as the write,
+ * and stores the response there before commit, so a key is never stored without its effect.
+ * Retries are answered from the {@link CacheConfig#IDEMPOTENCY_CACHE} front cache or the table
+ * without running the write again. Only successful responses are stored; a failed request can be
+ * retried with the same key. Expired records are purged in batches by a scheduled job.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+    /**
+     * Longest accepted client key.
+     */
+    public static final int MAX_KEY_LENGTH = 200;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache frontCache;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                              @Value("${todotask.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${todotask.idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.frontCache = cacheManager.getCache(CacheConfig.IDEMPOTENCY_CACHE);
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * Run a write once per key, replaying the stored response for repeated keys.
+     *
+     * @param scope        the endpoint the key belongs to, e.g. {@code "POST /api/tasks"}
+     * @param key          the client's Idempotency-Key, or null to just run the write
+     * @param request      the request body, compared against the original request for the key
+     * @param responseType type of the response, used to read back a stored response
+     * @param action       the write to perform
+     * @param <T>          response type
+     * @return the response and whether it was replayed
+     * @throws InvalidTaskRequestException     if the key is blank or too long
+     * @throws IdempotencyKeyReusedException   if the key was used for a different request
+     * @throws IdempotencyKeyConflictException if the original request is still in flight
+     */
+    public <T> Result<T> execute(String scope, String key, Object request, TypeReference<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return new Result<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidTaskRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        // Keys are per tenant, so two tenants choosing the same key never see each other's responses
+        String id = TenantContext.current() + " " + scope + " " + key;
+        String requestHash = hash(request);
+        StoredResponse cached = frontCache.get(id, StoredResponse.class);
+        if (cached != null) {
+            return replay(id, requestHash, cached, responseType);
+        }
+        Result<T> result = transactionTemplate.execute(status -> {
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(id);
+            if (existing.isPresent() && existing.get().getExpiresAt().isAfter(Instant.now())) {
+                return replay(id, requestHash, existing.get(), responseType);
+            }
+            existing.ifPresent(record -> {
+                idempotencyRecordRepository.delete(record);
+                idempotencyRecordRepository.flush();
+            });
+            // Claim the key first: a concurrent request with the same key now waits on this row
+            IdempotencyRecord record;
+            try {
+                record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .idempotencyKey(id)
+                        .requestHash(requestHash)
+                        .expiresAt(Instant.now().plus(ttl))
+                        .build());
+            } catch (DataIntegrityViolationException ex) {
+                // Only the key can clash here; violations raised by the write itself propagate
+                status.setRollbackOnly();
+                return null;
+            }
+            T body = action.get();
+            record.setResponseBody(toJson(body));
+            return new Result<>(body, false);
+        });
+        if (result == null) {
+            // Lost the race for the key: answer from the winner's record, read in a read-write
+            // transaction so it comes from the primary even with replica routing enabled
+            return transactionTemplate.execute(status -> idempotencyRecordRepository.findById(id))
+                    .map(record -> replay(id, requestHash, record, responseType))
+                    .orElseThrow(() -> new IdempotencyKeyConflictException("A request with this Idempotency-Key is in progress"));
+        }
+        if (!result.replayed()) {
+            frontCache.put(id, new StoredResponse(requestHash, toJson(result.body())));
+        }
+        return result;
+    }
+
+    /**
+     * Delete expired idempotency records, one bounded batch per transaction.
+     *
+     * @return number of records deleted
+     */
+    @Scheduled(fixedDelayString = "${todotask.idempotency.purge-interval:10m}")
+    public int purgeExpired() {
+        int total = 0;
+        int deleted;
+        do {
+            Instant now = Instant.now();
+            deleted = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(now, purgeBatchSize));
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        if (total > 0) {
+            log.info("Purged {} expired idempotency keys", total);
+        }
+        return total;
+    }
+
+    private <T> Result<T> replay(String id, String requestHash, IdempotencyRecord record, TypeReference<T> responseType) {
+        if (record.getResponseBody() == null) {
+            throw new IdempotencyKeyConflictException("A request with this Idempotency-Key is in progress");
+        }
+        StoredResponse stored = new StoredResponse(record.getRequestHash(), record.getResponseBody());
+        Result<T> result = replay(id, requestHash, stored, responseType);
+        frontCache.put(id, stored);
+        return result;
+    }
+
+    private <T> Result<T> replay(String id, String requestHash, StoredResponse stored, TypeReference<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request");
+        }
+        log.debug("Replaying stored response for {}", id);
+        try {
+            return new Result<>(objectMapper.readValue(stored.responseBody(), responseType), true);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Response of an idempotent write.
+     *
+     * @param body     the response body
+     * @param replayed true if the body is a stored response to an earlier request with the same key
+     * @param <T>      response type
+     */
+    public record Result<T>(T body, boolean replayed) {
+    }
+
+    private record StoredResponse(String requestHash, String responseBody) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.mapper.TaskMapper;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import com.shubhajit.todotask.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index used where Postgres full-text search is unavailable (the H2 test profile).
+ * Terms are lower-cased words without stemming; a task's rank is the number of query term occurrences.
+ * Each tenant has an index of its own, so a search never looks at another tenant's tasks.
+ * The index is rebuilt on startup and kept current from committed {@link TaskChangedEvent}s.
+ */
+@Component
+@ConditionalOnProperty(name = "todotask.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryTaskSearchEngine implements TaskSearchEngine {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Hit> BY_RANK = Comparator.comparingDouble(Hit::rank).reversed()
+            .thenComparingLong(hit -> hit.task().getId());
+
+    private final TaskRepository taskRepository;
+
+    private final Map<String, TenantIndex> tenants = new HashMap<>();
+
+    /**
+     * Build the index from the current contents of the task table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        tenants.clear();
+        taskRepository.findAll().forEach(task -> index(task.getTenantId(), TaskMapper.toDTO(task)));
+        log.info("Indexed {} tasks of {} tenants for in-memory search",
+                tenants.values().stream().mapToInt(index -> index.documents.size()).sum(), tenants.size());
+    }
+
+    /**
+     * Apply a committed task change to the index.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.DELETED) {
+            remove(event.tenantId(), event.id());
+        } else {
+            index(event.tenantId(), event.task());
+        }
+    }
+
+    /**
+     * Add or replace a task in the index.
+     *
+     * @param tenantId the tenant owning the task
+     * @param task     the task to index
+     */
+    public synchronized void index(String tenantId, TaskDTO task) {
+        TenantIndex tenant = tenants.computeIfAbsent(tenantId, t -> new TenantIndex());
+        tenant.remove(task.getId());
+        Map<String, Integer> counts = new HashMap<>();
+        for (String term : tokenize(task.getTitle() + " " + (task.getDescription() == null ? "" : task.getDescription()))) {
+            counts.merge(term, 1, Integer::sum);
+        }
+        counts.keySet().forEach(term -> tenant.postings.computeIfAbsent(term, t -> new HashSet<>()).add(task.getId()));
+        tenant.termCounts.put(task.getId(), counts);
+        tenant.documents.put(task.getId(), task);
+    }
+
+    /**
+     * Remove a task from the index.
+     *
+     * @param tenantId the tenant owning the task
+     * @param id       the task ID
+     */
+    public synchronized void remove(String tenantId, Long id) {
+        TenantIndex tenant = tenants.get(tenantId);
+        if (tenant != null) {
+            tenant.remove(id);
+        }
+    }
+
+    @Override
+    public synchronized TaskPageDTO search(int shard, String tenantId, String query, SearchCursor cursor, int size) {
+        Set<String> terms = new HashSet<>(tokenize(query));
+        TenantIndex tenant = tenants.get(tenantId);
+        if (terms.isEmpty() || tenant == null) {
+            return new TaskPageDTO(List.of(), null);
+        }
+        // Intersect starting from the rarest term to keep the candidate set small
+        List<Set<Long>> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Set<Long> ids = tenant.postings.get(term);
+            if (ids == null) {
+                return new TaskPageDTO(List.of(), null);
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> matches = new HashSet<>(lists.get(0));
+        lists.subList(1, lists.size()).forEach(matches::retainAll);
+
+        List<Hit> hits = new ArrayList<>(matches.size());
+        for (Long id : matches) {
+            Map<String, Integer> counts = tenant.termCounts.get(id);
+            float rank = 0;
+            for (String term : terms) {
+                rank += counts.getOrDefault(term, 0);
+            }
+            Hit hit = new Hit(rank, tenant.documents.get(id));
+            if (cursor == null || rank < cursor.rank() || (rank == cursor.rank() && id > cursor.id())) {
+                hits.add(hit);
+            }
+        }
+        hits.sort(BY_RANK);
+        List<TaskDTO> items = hits.stream().limit(size).map(Hit::task).toList();
+        String nextCursor = null;
+        if (hits.size() > size) {
+            Hit last = hits.get(size - 1);
+            nextCursor = new SearchCursor(last.rank(), last.task().getId()).encode();
+        }
+        return new TaskPageDTO(items, nextCursor);
+    }
+
+    private static List<String> tokenize(String text) {
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private record Hit(float rank, TaskDTO task) {
+    }
+
+    private static final class TenantIndex {
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private final Map<Long, TaskDTO> documents = new HashMap<>();
+        private final Map<Long, Map<String, Integer>> termCounts = new HashMap<>();
+
+        private void remove(Long id) {
+            Map<String, Integer> counts = termCounts.remove(id);
+            documents.remove(id);
+            if (counts == null) {
+                return;
+            }
+            for (String term : counts.keySet()) {
+                Set<Long> ids = postings.get(term);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.entity.TaskOutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sink that writes each event to the application log; the default for local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "todotask.outbox.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LogTaskEventSink implements TaskEventSink {
+
+    @Override
+    public void publish(List<TaskOutboxEvent> events) {
+        events.forEach(event -> log.info("Task event {}: {}", event.getId(), event.getPayload()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in an id-ordered page: the id of the last task returned.
+ *
+ * @param afterId id of the last task on the previous page, 0 before the first page
+ */
+public record PageCursor(long afterId) {
+    /**
+     * Position before the first page.
+     */
+    public static final PageCursor FIRST = new PageCursor(0L);
+
+    /**
+     * Encode this position as an opaque, URL-safe token.
+     *
+     * @return the cursor token
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(afterId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token the cursor token, may be null or empty
+     * @return the decoded position, or {@link #FIRST} for the first page
+     * @throws InvalidTaskRequestException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return FIRST;
+        }
+        try {
+            return new PageCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTaskRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search engine backed by the Postgres {@code SEARCH_VECTOR} generated column and its (tenant, vector)
+ * GIN index (see {@code db/migration/postgresql}). Rows are read straight into DTOs, skipping the persistence context.
+ */
+@Component
+@ConditionalOnProperty(name = "todotask.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresTaskSearchEngine implements TaskSearchEngine {
+
+    private static final String RANKED_MATCHES = """
+            SELECT * FROM (
+                SELECT t.ID, t.TITLE, t.DESCRIPTION, t.COMPLETED, t.VERSION,
+                       ts_rank(t.SEARCH_VECTOR, q.QUERY) AS RANK
+                FROM TASK t, websearch_to_tsquery('english', :query) AS q(QUERY)
+                WHERE t.SHARD = :shard AND t.TENANT_ID = :tenantId AND t.SEARCH_VECTOR @@ q.QUERY
+            ) ranked
+            """;
+
+    private static final String FIRST_PAGE = RANKED_MATCHES + """
+            ORDER BY RANK DESC, ID
+            LIMIT :limit
+            """;
+
+    private static final String NEXT_PAGE = RANKED_MATCHES + """
+            WHERE RANK < :lastRank OR (RANK = :lastRank AND ID > :lastId)
+            ORDER BY RANK DESC, ID
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public TaskPageDTO search(int shard, String tenantId, String query, SearchCursor cursor, int size) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("shard", shard)
+                .addValue("tenantId", tenantId)
+                .addValue("query", query)
+                .addValue("limit", size + 1);
+        String sql = FIRST_PAGE;
+        if (cursor != null) {
+            params.addValue("lastRank", cursor.rank()).addValue("lastId", cursor.id());
+            sql = NEXT_PAGE;
+        }
+        log.debug("Searching tasks for: {}, after: {}, size: {}", query, cursor, size);
+        List<TaskDTO> items = new ArrayList<>(size + 1);
+        List<Float> ranks = new ArrayList<>(size + 1);
+        jdbcTemplate.query(sql, params, rs -> {
+            items.add(TaskDTO.builder()
+                    .id(rs.getLong("ID"))
+                    .title(rs.getString("TITLE"))
+                    .description(rs.getString("DESCRIPTION"))
+                    .completed(rs.getBoolean("COMPLETED"))
+                    .version(rs.getLong("VERSION"))
+                    .build());
+            ranks.add(rs.getFloat("RANK"));
+        });
+        if (items.size() <= size) {
+            return new TaskPageDTO(items, null);
+        }
+        List<TaskDTO> page = items.subList(0, size);
+        TaskDTO last = page.get(size - 1);
+        return new TaskPageDTO(new ArrayList<>(page), new SearchCursor(ranks.get(size - 1), last.getId()).encode());
+    }
+}
@@ -0,0 +1,45 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a relevance-ordered search: the rank and id of the last task returned.
+ *
+ * @param rank relevance of the last task on the previous page
+ * @param id   id of the last task on the previous page
+ */
+public record SearchCursor(float rank, long id) {
+
+    /**
+     * Encode this position as an opaque, URL-safe token.
+     *
+     * @return the cursor token
+     */
+    public String encode() {
+        String raw = rank + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token the cursor token, may be null or empty
+     * @return the decoded position, or null for the first page
+     * @throws InvalidTaskRequestException if the token is malformed
+     */
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            return new SearchCursor(Float.parseFloat(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidTaskRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.config.CacheConfig;
+import com.shubhajit.todotask.entity.TaskChangeCounter;
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.repository.TaskChangeCounterRepository;
+import com.shubhajit.todotask.repository.TaskRepository;
+import com.shubhajit.todotask.repository.TaskTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Keeps this node's {@link CacheConfig#TASKS_CACHE} entries from outliving writes made on other nodes.
+ * <p>
+ * Every write bumps its tenant's change counter and stamps it with the database time, so each poll reads
+ * only the counters bumped since the previous one. For a tenant written elsewhere, the tasks written or
+ * deleted after the count seen by the last poll are looked up by change sequence and only their entries are
+ * evicted. A lookup is therefore stale for at most one poll interval (plus replica lag) instead of the cache
+ * TTL. A tenant whose new changes were all committed on this node is skipped, since those writes already
+ * updated or evicted its entries here.
+ * <p>
+ * A counter's time is taken when the write bumps it but becomes visible when the write commits (and reaches
+ * the replica), so each poll reaches back {@code todotask.cache.invalidation-overlap} before the latest time
+ * it has seen; counters already seen at the same count are skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "todotask.cache.invalidation-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TaskCacheInvalidator {
+    private final TaskChangeCounterRepository taskChangeCounterRepository;
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskShardRouter taskShardRouter;
+    private final CacheManager cacheManager;
+    private final Duration overlap;
+    /**
+     * Change sequences committed on this node and not yet seen by a poll, per tenant.
+     */
+    private final Map<String, Set<Long>> localChanges = new ConcurrentHashMap<>();
+    /**
+     * Change count of each tenant as of the last poll that saw it; a tenant created since starts from 0.
+     */
+    private final Map<String, Long> lastCounts = new HashMap<>();
+    /**
+     * Latest counter time seen; null until the first poll.
+     */
+    private Instant watermark;
+
+    public TaskCacheInvalidator(TaskChangeCounterRepository taskChangeCounterRepository, TaskRepository taskRepository,
+                                TaskTombstoneRepository taskTombstoneRepository, TaskShardRouter taskShardRouter,
+                                CacheManager cacheManager,
+                                @Value("${todotask.cache.invalidation-overlap:10s}") Duration overlap) {
+        this.taskChangeCounterRepository = taskChangeCounterRepository;
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskShardRouter = taskShardRouter;
+        this.cacheManager = cacheManager;
+        this.overlap = overlap;
+    }
+
+    /**
+     * Remember a change committed on this node, so the poll that sees it does not evict for it.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        localChanges.computeIfAbsent(event.tenantId(), tenantId -> new ConcurrentSkipListSet<>()).add(event.changeSeq());
+    }
+
+    /**
+     * Evict the cached tasks written on another node since the last poll.
+     *
+     * @return number of tenants whose entries were evicted
+     */
+    @Scheduled(fixedDelayString = "${todotask.cache.invalidation-interval:1s}")
+    public synchronized int invalidate() {
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        if (watermark == null) {
+            // The one full read: a baseline count for every tenant, after which entries cached before it are dropped
+            watermark = Instant.EPOCH;
+            taskChangeCounterRepository.findAll().forEach(this::advance);
+            localChanges.clear();
+            if (cache != null) {
+                cache.clear();
+            }
+            return 0;
+        }
+        Set<String> seen = new HashSet<>();
+        int evicted = 0;
+        for (TaskChangeCounter counter : taskChangeCounterRepository.findChangedSince(watermark.minus(overlap))) {
+            String tenantId = counter.getTenantId();
+            long lastCount = lastCounts.getOrDefault(tenantId, 0L);
+            long count = counter.getChangeCount();
+            seen.add(tenantId);
+            Set<Long> local = localChanges.get(tenantId);
+            if (count > lastCount && !allLocal(local, lastCount, count) && cache != null) {
+                evictChangedAfter(cache, tenantId, lastCount);
+                evicted++;
+            }
+            if (local != null) {
+                local.removeIf(seq -> seq <= count);
+            }
+            advance(counter);
+        }
+        // A change committed here but not in this poll's window is treated as remote when it shows up
+        localChanges.keySet().retainAll(seen);
+        if (evicted > 0) {
+            log.debug("Evicted cached tasks of {} tenants changed on other nodes", evicted);
+        }
+        return evicted;
+    }
+
+    private void advance(TaskChangeCounter counter) {
+        lastCounts.merge(counter.getTenantId(), counter.getChangeCount(), Math::max);
+        if (counter.getLastChanged().isAfter(watermark)) {
+            watermark = counter.getLastChanged();
+        }
+    }
+
+    /**
+     * Evict the entries of a tenant's tasks written or deleted after the given change sequence.
+     */
+    private void evictChangedAfter(Cache cache, String tenantId, long seq) {
+        taskRepository.findIdsChangedAfter(taskShardRouter.shardOf(tenantId), tenantId, seq)
+                .forEach(id -> cache.evict(CacheConfig.taskKey(tenantId, id)));
+        taskTombstoneRepository.findIdsDeletedAfter(tenantId, seq)
+                .forEach(id -> cache.evict(CacheConfig.taskKey(tenantId, id)));
+    }
+
+    /**
+     * Whether every change sequence after {@code from} up to {@code to} was committed on this node.
+     */
+    private static boolean allLocal(Set<Long> local, long from, long to) {
+        if (local == null || to - from > local.size()) {
+            return false;
+        }
+        for (long seq = from + 1; seq <= to; seq++) {
+            if (!local.contains(seq)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.entity.TaskChangeCounter;
+import com.shubhajit.todotask.repository.TaskChangeCounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+/**
+ * Hands out change sequences from the {@link TaskChangeCounter} row of each tenant.
+ * <p>
+ * A write bumps its tenant's row before touching any task, and the row stays locked until the write
+ * commits, so a tenant's sequences are handed out in commit order and a delta-sync reader never sees
+ * a change before an earlier-numbered one. Only writes of the same tenant wait for each other.
+ */
+@Service
+@Slf4j
+public class TaskChangeCounterService {
+    private final TaskChangeCounterRepository taskChangeCounterRepository;
+    private final TransactionTemplate newTransaction;
+
+    public TaskChangeCounterService(TaskChangeCounterRepository taskChangeCounterRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.taskChangeCounterRepository = taskChangeCounterRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Bump a tenant's change counter within the caller's transaction.
+     *
+     * @param tenantId the tenant
+     * @return the new value, the change sequence of the caller's write
+     */
+    public long recordChange(String tenantId) {
+        if (taskChangeCounterRepository.increment(tenantId) == 0) {
+            createCounter(tenantId);
+            taskChangeCounterRepository.increment(tenantId);
+        }
+        return taskChangeCounterRepository.findChangeCount(tenantId).orElseThrow();
+    }
+
+    /**
+     * @param tenantId the tenant
+     * @return the tenant's current change count, the version of its task collection
+     */
+    public long getChangeCount(String tenantId) {
+        return taskChangeCounterRepository.findChangeCount(tenantId).orElse(0L);
+    }
+
+    /**
+     * @param tenantId the tenant
+     * @return highest change sequence of the tenant's compacted tombstones
+     */
+    public long getCompactedSeq(String tenantId) {
+        return taskChangeCounterRepository.findCompactedSeq(tenantId).orElse(0L);
+    }
+
+    /**
+     * Insert a tenant's first counter row in a transaction of its own, so losing the race to a
+     * concurrent first write does not abort the caller's transaction.
+     */
+    private void createCounter(String tenantId) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    taskChangeCounterRepository.saveAndFlush(new TaskChangeCounter(tenantId, 0L, 0L, Instant.now())));
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Change counter of tenant {} was created concurrently", tenantId);
+        }
+    }
+}
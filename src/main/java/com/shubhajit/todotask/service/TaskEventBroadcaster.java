@@ -0,0 +1,367 @@
+package com.shubhajit.todotask.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubhajit.todotask.config.TenantContext;
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.entity.TaskChangeCounter;
+import com.shubhajit.todotask.entity.TaskTombstone;
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.mapper.TaskMapper;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.repository.TaskChangeCounterRepository;
+import com.shubhajit.todotask.repository.TaskRepository;
+import com.shubhajit.todotask.repository.TaskTombstoneRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Fans committed task changes out to Server-Sent Events subscribers.
+ * <p>
+ * Changes are read from the database rather than from this node's writes, so a subscriber sees the writes
+ * of every node. Each tenant with subscribers on this node is a stream that remembers the change sequence
+ * it has published up to; every {@code todotask.stream.poll-interval} one query reads the change counters
+ * of those tenants, and a tenant whose counter moved has its new changes read with the delta-sync queries.
+ * The event id is the change's sequence in its tenant ({@code CHANGE_SEQ}), set on the last event of each
+ * write, so a client can resume on any node from {@code Last-Event-ID}: the changes it missed are read back
+ * from the database, or a {@code reset} event tells it to refetch when they are too many or were compacted.
+ * <p>
+ * Pollers only enqueue: every subscriber has a bounded queue drained by a short-lived virtual thread, and a
+ * subscriber whose queue overflows is disconnected rather than allowed to hold up anyone else. Idle
+ * connections hold no thread.
+ */
+@Component
+@Slf4j
+public class TaskEventBroadcaster {
+
+    private final ObjectMapper objectMapper;
+    private final TaskChangeCounterRepository taskChangeCounterRepository;
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskShardRouter taskShardRouter;
+    private final int replaySize;
+    private final int queueSize;
+    private final long timeoutMillis;
+
+    private final Map<String, TenantStream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter droppedSubscribers;
+
+    public TaskEventBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                TaskChangeCounterRepository taskChangeCounterRepository, TaskRepository taskRepository,
+                                TaskTombstoneRepository taskTombstoneRepository, TaskShardRouter taskShardRouter,
+                                @Value("${todotask.stream.replay-size:1000}") int replaySize,
+                                @Value("${todotask.stream.subscriber-queue-size:256}") int queueSize,
+                                @Value("${todotask.stream.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.taskChangeCounterRepository = taskChangeCounterRepository;
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskShardRouter = taskShardRouter;
+        this.replaySize = replaySize;
+        this.queueSize = queueSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.droppedSubscribers = meterRegistry.counter("tasks.stream.dropped");
+        meterRegistry.gauge("tasks.stream.subscribers", subscriberCount);
+    }
+
+    /**
+     * Open a new event stream of the current tenant's changes.
+     *
+     * @param lastEventId id of the last event the client received, or null for live events only
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(new SseEmitter(timeoutMillis), TenantContext.current(), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String tenantId, Long lastEventId) {
+        Optional<TaskChangeCounter> counter = taskChangeCounterRepository.findById(tenantId);
+        long changeCount = counter.map(TaskChangeCounter::getChangeCount).orElse(0L);
+        long compactedSeq = counter.map(TaskChangeCounter::getCompactedSeq).orElse(0L);
+        List<StreamEvent> backlog = new ArrayList<>();
+        Subscriber subscriber;
+        while (true) {
+            TenantStream stream = streams.computeIfAbsent(tenantId, id -> new TenantStream(id, changeCount));
+            synchronized (stream) {
+                if (stream.closed) {
+                    // The last subscriber of the stream left meanwhile; start a new one
+                    continue;
+                }
+                long current = Math.max(stream.lastSeq, changeCount);
+                long after = lastEventId == null ? current : lastEventId;
+                if (lastEventId != null && lastEventId < stream.lastSeq) {
+                    List<StreamEvent> missed = lastEventId < compactedSeq ? null : readChanges(tenantId, lastEventId, stream.lastSeq);
+                    if (missed == null) {
+                        backlog.add(reset(stream.lastSeq));
+                        after = stream.lastSeq;
+                    } else {
+                        backlog.addAll(missed);
+                    }
+                } else if (lastEventId != null && lastEventId > current) {
+                    // Not an id of this tenant's stream; the client must refetch
+                    backlog.add(reset(current));
+                    after = current;
+                }
+                // Registering under the stream's lock, which the poller publishes under, leaves no gap
+                // between the replayed and the live events
+                subscriber = new Subscriber(emitter, stream, after, queueSize + backlog.size());
+                stream.subscribers.add(subscriber);
+                subscriberCount.incrementAndGet();
+            }
+            break;
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        backlog.forEach(event -> subscriber.offer(event.payload()));
+        log.debug("Stream subscriber of tenant {} added after event {}, {} replayed", tenantId, lastEventId, backlog.size());
+        return emitter;
+    }
+
+    /**
+     * Publish the changes committed on any node since the last poll to the subscribers of their tenant.
+     *
+     * @return number of events published
+     */
+    @Scheduled(fixedDelayString = "${todotask.stream.poll-interval:1s}")
+    public int poll() {
+        if (streams.isEmpty()) {
+            return 0;
+        }
+        Map<String, Long> counts = taskChangeCounterRepository.findAllById(List.copyOf(streams.keySet())).stream()
+                .collect(Collectors.toMap(TaskChangeCounter::getTenantId, TaskChangeCounter::getChangeCount));
+        int published = 0;
+        for (TenantStream stream : streams.values()) {
+            long count = counts.getOrDefault(stream.tenantId, 0L);
+            if (count <= stream.lastSeq) {
+                continue;
+            }
+            List<StreamEvent> events = readChanges(stream.tenantId, stream.lastSeq, count);
+            synchronized (stream) {
+                if (events == null) {
+                    log.warn("Tenant {} changed more than {} times in one poll, resetting its streams", stream.tenantId, replaySize);
+                    events = List.of(reset(count));
+                }
+                for (StreamEvent event : events) {
+                    stream.subscribers.stream()
+                            .filter(subscriber -> event.seq() > subscriber.after)
+                            .forEach(subscriber -> subscriber.offer(event.payload()));
+                }
+                stream.lastSeq = count;
+            }
+            published += events.size();
+        }
+        return published;
+    }
+
+    /**
+     * Send a comment to every subscriber so idle connections stay open through proxies
+     * and dead ones are detected.
+     */
+    @Scheduled(fixedRateString = "${todotask.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        streams.values().forEach(stream -> stream.subscribers.forEach(subscriber -> subscriber.offer(ping)));
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streams.values().forEach(stream -> stream.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    /**
+     * Read a tenant's changes after one change sequence up to another, merged in (change sequence, id)
+     * order like delta sync, as events whose last one per write carries the change sequence as its id.
+     *
+     * @return the events, or null if there are more than {@code todotask.stream.replay-size}
+     */
+    private List<StreamEvent> readChanges(String tenantId, long after, long upTo) {
+        // Long.MAX_VALUE as the id skips the rest of the sequence already seen
+        Limit limit = Limit.of(replaySize + 1);
+        List<Task> tasks = taskRepository.findChangedAfter(taskShardRouter.shardOf(tenantId), tenantId, after, Long.MAX_VALUE, limit);
+        List<TaskTombstone> tombstones = taskTombstoneRepository.findDeletedAfter(tenantId, after, Long.MAX_VALUE, limit);
+        List<TaskChangedEvent> changes = new ArrayList<>();
+        int t = 0;
+        int d = 0;
+        // Each feed is fetched one past the limit, so neither runs out early before the limit is exceeded
+        while (t < tasks.size() || d < tombstones.size()) {
+            TaskChangedEvent change;
+            if (d == tombstones.size() || t < tasks.size() && before(tasks.get(t), tombstones.get(d))) {
+                Task task = tasks.get(t++);
+                TaskDTO dto = TaskMapper.toDTO(task);
+                change = task.getVersion() == 0 ? TaskChangedEvent.created(tenantId, task.getChangeSeq(), dto)
+                        : TaskChangedEvent.updated(tenantId, task.getChangeSeq(), dto);
+            } else {
+                TaskTombstone tombstone = tombstones.get(d++);
+                change = TaskChangedEvent.deleted(tenantId, tombstone.getChangeSeq(), tombstone.getId());
+            }
+            if (change.changeSeq() > upTo) {
+                break;
+            }
+            changes.add(change);
+            if (changes.size() > replaySize) {
+                return null;
+            }
+        }
+        List<StreamEvent> events = new ArrayList<>(changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            boolean lastOfWrite = i + 1 == changes.size() || changes.get(i + 1).changeSeq() != changes.get(i).changeSeq();
+            StreamEvent event = toStreamEvent(changes.get(i), lastOfWrite);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    private StreamEvent toStreamEvent(TaskChangedEvent change, boolean lastOfWrite) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize task event for task {}", change.id(), ex);
+            return null;
+        }
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (lastOfWrite) {
+            // Earlier events of the same write carry no id, so a client cut off mid-write resumes before it
+            builder.id(Long.toString(change.changeSeq()));
+        }
+        builder.name(change.type().name().toLowerCase(Locale.ROOT)).data(json, MediaType.APPLICATION_JSON);
+        return new StreamEvent(change.changeSeq(), builder.build());
+    }
+
+    private static StreamEvent reset(long seq) {
+        // Events were missed (too many, or compacted); the client must refetch
+        return new StreamEvent(seq, SseEmitter.event().id(Long.toString(seq)).name("reset").data("").build());
+    }
+
+    private static boolean before(Task task, TaskTombstone tombstone) {
+        return task.getChangeSeq() < tombstone.getChangeSeq()
+                || task.getChangeSeq() == tombstone.getChangeSeq() && task.getId() < tombstone.getId();
+    }
+
+    private record StreamEvent(long seq, Set<DataWithMediaType> payload) {
+    }
+
+    /**
+     * The subscribers of one tenant on this node and the change sequence published to them.
+     */
+    private static final class TenantStream {
+        private final String tenantId;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        /**
+         * Written by the poller under the stream's lock, and read by it between polls.
+         */
+        private volatile long lastSeq;
+        private boolean closed;
+
+        private TenantStream(String tenantId, long lastSeq) {
+            this.tenantId = tenantId;
+            this.lastSeq = lastSeq;
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final TenantStream stream;
+        /**
+         * Change sequence the subscriber has already seen; live events up to it are skipped.
+         */
+        private final long after;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, TenantStream stream, long after, int capacity) {
+            this.emitter = emitter;
+            this.stream = stream;
+            this.after = after;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void offer(Set<DataWithMediaType> payload) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(payload)) {
+                log.warn("Dropping slow stream subscriber with {} undelivered events", queue.size());
+                droppedSubscribers.increment();
+                close();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> payload;
+                while (!closed && (payload = queue.poll()) != null) {
+                    emitter.send(payload);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Stream subscriber disconnected: {}", ex.getMessage());
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An offer may have lost the race with the end of the loop above
+            if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void close() {
+            synchronized (stream) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                stream.subscribers.remove(this);
+                subscriberCount.decrementAndGet();
+                if (stream.subscribers.isEmpty()) {
+                    stream.closed = true;
+                    streams.remove(stream.tenantId, stream);
+                }
+            }
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.entity.TaskOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination for task change events drained from the outbox.
+ * Delivery is at-least-once: a batch may be published again if the relay fails before
+ * committing, so consumers should de-duplicate on {@link TaskOutboxEvent#getId()}. Each
+ * tenant's events should be applied in {@link TaskOutboxEvent#getChangeSeq()} order, since
+ * batches locked by relays on different nodes can be published concurrently.
+ */
+public interface TaskEventSink {
+
+    /**
+     * Publish a batch of events, in (change sequence, id) order. Throwing leaves the whole batch in the outbox for a retry.
+     *
+     * @param events the events to publish
+     */
+    void publish(List<TaskOutboxEvent> events);
+}
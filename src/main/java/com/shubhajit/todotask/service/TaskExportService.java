@@ -0,0 +1,234 @@
+package com.shubhajit.todotask.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting all tasks of a tenant with constant memory.
+ * Rows are read through a server-side cursor and written straight to the output stream.
+ * The tenant is passed in explicitly because streaming bodies are written outside the request thread.
+ */
+@Service
+@Slf4j
+@Timed(value = "tasks.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
+public class TaskExportService {
+    /**
+     * Number of rows written between flushes of the output stream.
+     */
+    static final int FLUSH_INTERVAL = 500;
+
+    /**
+     * Media type of the Smile binary JSON format.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private final TaskRepository taskRepository;
+    private final TaskShardRouter taskShardRouter;
+    private final ObjectMapper objectMapper;
+    private final Map<ListFormat, ObjectMapper> listMappers = new EnumMap<>(ListFormat.class);
+
+    public TaskExportService(TaskRepository taskRepository, TaskShardRouter taskShardRouter, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.taskShardRouter = taskShardRouter;
+        this.objectMapper = objectMapper;
+        // Binary mappers share the JSON mapper's modules and settings
+        listMappers.put(ListFormat.JSON, objectMapper);
+        listMappers.put(ListFormat.CBOR, objectMapper.copyWith(new CBORFactory()));
+        listMappers.put(ListFormat.SMILE, objectMapper.copyWith(new SmileFactory()));
+    }
+
+    /**
+     * Supported export formats.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String fileExtension;
+
+        /**
+         * Resolve a format from a request parameter, ignoring case.
+         * @param value the parameter value
+         * @return the matching Format
+         * @throws InvalidTaskRequestException if no format matches
+         */
+        public static Format fromParameter(String value) {
+            return Arrays.stream(values())
+                    .filter(f -> f.name().equalsIgnoreCase(value))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidTaskRequestException("Unsupported export format: " + value));
+        }
+    }
+
+    /**
+     * Formats of the full task list ({@code GET /api/tasks}), chosen by the Accept header.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum ListFormat {
+        JSON(MediaType.APPLICATION_JSON),
+        CBOR(MediaType.APPLICATION_CBOR),
+        SMILE(MediaType.parseMediaType(APPLICATION_SMILE_VALUE));
+
+        private final MediaType mediaType;
+
+        /**
+         * Pick the format the client prefers, by quality then specificity; JSON when nothing else fits.
+         * @param accept the Accept header, or null
+         * @return the matching ListFormat
+         */
+        public static ListFormat negotiate(String accept) {
+            if (accept == null || accept.isBlank()) {
+                return JSON;
+            }
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType candidate : accepted) {
+                if (candidate.getQualityValue() == 0) {
+                    continue;
+                }
+                for (ListFormat format : values()) {
+                    if (candidate.isCompatibleWith(format.mediaType)) {
+                        return format;
+                    }
+                }
+            }
+            return JSON;
+        }
+    }
+
+    /**
+     * Write every task of a tenant to the given stream as one array in the requested format.
+     * Rows are projected into DTOs and serialized one at a time as they arrive, so the body is never held in memory.
+     *
+     * @param tenantId the tenant
+     * @param format   the list format
+     * @param out      the target stream (left open)
+     * @return number of tasks written
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long writeTaskList(String tenantId, ListFormat format, OutputStream out) throws IOException {
+        ObjectMapper mapper = listMappers.get(format);
+        ObjectWriter writer = mapper.writerFor(TaskDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<TaskDTO> tasks = taskRepository.streamAllDTOs(taskShardRouter.shardOf(tenantId), tenantId)) {
+            JsonGenerator generator = mapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            long count = 0;
+            Iterator<TaskDTO> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.close();
+            return count;
+        }
+    }
+
+    /**
+     * Write every task of a tenant to the given stream in the requested format.
+     * Rows are projected into DTOs, so the persistence context stays empty.
+     *
+     * @param tenantId the tenant
+     * @param format   the export format
+     * @param out      the target stream (left open)
+     * @return number of tasks written
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(String tenantId, Format format, OutputStream out) throws IOException {
+        log.debug("Exporting tasks of tenant {} as {}", tenantId, format);
+        try (Stream<TaskDTO> tasks = taskRepository.streamAllDTOs(taskShardRouter.shardOf(tenantId), tenantId)) {
+            long count = format == Format.CSV ? writeCsv(tasks.iterator(), out) : writeNdjson(tasks.iterator(), out);
+            log.debug("Exported {} tasks", count);
+            return count;
+        }
+    }
+
+    private long writeNdjson(Iterator<TaskDTO> tasks, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        long count = 0;
+        while (tasks.hasNext()) {
+            writer.writeValue(generator, tasks.next());
+            if (++count % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+        return count;
+    }
+
+    private long writeCsv(Iterator<TaskDTO> tasks, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,title,description,completed\n");
+        long count = 0;
+        while (tasks.hasNext()) {
+            TaskDTO task = tasks.next();
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writer.write(csvField(task.getTitle()));
+            writer.write(',');
+            writer.write(csvField(task.getDescription()));
+            writer.write(',');
+            writer.write(String.valueOf(task.isCompleted()));
+            writer.write('\n');
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,86 @@
+package com.shubhajit.todotask.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates globally unique, time-ordered task ids in process, Snowflake-style, without a database round trip.
+ * <p>
+ * Layout, from the most significant bit: 1 unused sign bit, 41 bits of milliseconds since {@link #EPOCH},
+ * 6 bits of shard, 6 bits of node and a 10-bit sequence. Lookups are routed by tenant ({@link TaskShardRouter}),
+ * not by the shard bits. Every generated id is at least 2^22, above the ids from before partitioning.
+ * The node id is leased by {@link TaskNodeLeaseService}, so no two running instances share it.
+ */
+@Component
+public class TaskIdGenerator {
+    /**
+     * Start of the id clock; 41 bits of milliseconds last until 2094.
+     */
+    public static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    static final int SEQUENCE_BITS = 10;
+    static final int NODE_BITS = 6;
+    static final int SHARD_BITS = 6;
+    static final int TIMESTAMP_BITS = 41;
+
+    /**
+     * Number of shards an id can address.
+     */
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+    public static final int MAX_NODES = 1 << NODE_BITS;
+
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int SHARD_SHIFT = NODE_SHIFT + NODE_BITS;
+    private static final int TIMESTAMP_SHIFT = SHARD_SHIFT + SHARD_BITS;
+
+    private final IntSupplier node;
+    private final LongSupplier clock;
+    /**
+     * Last issued (milliseconds since epoch, sequence) pair, packed as {@code millis << SEQUENCE_BITS | sequence}.
+     */
+    private final AtomicLong last = new AtomicLong(1L << SEQUENCE_BITS);
+
+    @Autowired
+    public TaskIdGenerator(TaskNodeLeaseService taskNodeLeaseService) {
+        // The node is leased when the context starts, after this bean is created, so it is read per id
+        this.node = taskNodeLeaseService::getNodeId;
+        this.clock = System::currentTimeMillis;
+    }
+
+    TaskIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId >= MAX_NODES) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + (MAX_NODES - 1) + ": " + nodeId);
+        }
+        this.node = () -> nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Generate the next id for a task stored in the given shard.
+     * Ids from one generator strictly increase. When the sequence of the current millisecond is used up,
+     * or the wall clock steps back, the id clock runs ahead of the wall clock instead of blocking.
+     *
+     * @param shard the shard of the task
+     * @return a new id
+     * @throws IllegalStateException if this instance holds no node lease
+     */
+    public long nextId(int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + (MAX_SHARDS - 1) + ": " + shard);
+        }
+        long nodeBits = (long) node.getAsInt() << NODE_SHIFT;
+        long now = (clock.getAsLong() - EPOCH.toEpochMilli()) << SEQUENCE_BITS;
+        long next = last.accumulateAndGet(now, (previous, candidate) -> Math.max(previous + 1, candidate));
+        long millis = next >>> SEQUENCE_BITS;
+        if (millis >= 1L << TIMESTAMP_BITS) {
+            throw new IllegalStateException("Task id clock exhausted");
+        }
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return millis << TIMESTAMP_SHIFT | (long) shard << SHARD_SHIFT | nodeBits | sequence;
+    }
+}
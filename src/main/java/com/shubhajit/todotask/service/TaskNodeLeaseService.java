@@ -0,0 +1,161 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.entity.TaskNodeLease;
+import com.shubhajit.todotask.repository.TaskNodeLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Gives this instance a task id node no other running instance uses, leased from the {@link TaskNodeLease} table.
+ * <p>
+ * With {@code todotask.partitioning.node-id} unset, the first node whose lease is free or expired is taken.
+ * A configured node id is claimed the same way, and startup fails if another live instance holds it, so a
+ * copied configuration cannot make two instances generate the same ids. The lease is renewed while the
+ * instance runs and released on shutdown; a crashed instance's node becomes free once its lease expires.
+ * <p>
+ * The node is claimed when the context starts, before the web server, not when the bean is created: the
+ * image build's CDS training run refreshes the context without a database and exits before the start phase.
+ */
+@Service
+@Slf4j
+public class TaskNodeLeaseService implements SmartLifecycle {
+    private final TaskNodeLeaseRepository taskNodeLeaseRepository;
+    private final TransactionTemplate newTransaction;
+    private final Duration leaseDuration;
+    private final Integer configuredNodeId;
+    private final String owner;
+    /**
+     * Leased node, or -1 while none is held.
+     */
+    private volatile int nodeId = -1;
+
+    @Autowired
+    public TaskNodeLeaseService(TaskNodeLeaseRepository taskNodeLeaseRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${todotask.partitioning.node-id:}") Integer configuredNodeId,
+                                @Value("${todotask.partitioning.node-lease-duration:2m}") Duration leaseDuration) {
+        this(taskNodeLeaseRepository, transactionManager, configuredNodeId, leaseDuration,
+                ManagementFactory.getRuntimeMXBean().getName());
+    }
+
+    TaskNodeLeaseService(TaskNodeLeaseRepository taskNodeLeaseRepository, PlatformTransactionManager transactionManager,
+                         Integer configuredNodeId, Duration leaseDuration, String owner) {
+        this.taskNodeLeaseRepository = taskNodeLeaseRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseDuration = leaseDuration;
+        this.owner = owner;
+        if (configuredNodeId != null && (configuredNodeId < 0 || configuredNodeId >= TaskIdGenerator.MAX_NODES)) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + (TaskIdGenerator.MAX_NODES - 1) + ": " + configuredNodeId);
+        }
+        this.configuredNodeId = configuredNodeId;
+    }
+
+    /**
+     * @return the task id node leased by this instance
+     * @throws IllegalStateException if no node is leased, i.e. the context has not started or has stopped
+     */
+    public int getNodeId() {
+        int node = nodeId;
+        if (node < 0) {
+            throw new IllegalStateException("No task id node is leased; the application context is not running");
+        }
+        return node;
+    }
+
+    @Override
+    public void start() {
+        int node = configuredNodeId == null ? claimFreeNode() : claimConfiguredNode(configuredNodeId);
+        nodeId = node;
+        log.info("Generating task ids as node {} ({})", node, owner);
+    }
+
+    @Override
+    public void stop() {
+        int node = nodeId;
+        if (node < 0) {
+            return;
+        }
+        nodeId = -1;
+        try {
+            newTransaction.executeWithoutResult(status -> taskNodeLeaseRepository.release(node, owner));
+        } catch (RuntimeException ex) {
+            log.warn("Could not release task id node {}; it becomes free when the lease expires", node, ex);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return nodeId >= 0;
+    }
+
+    /**
+     * Start before the web server accepts requests, and release only after it has stopped.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Extend the lease well before it expires. Losing it means another instance took the node over
+     * after this one stopped renewing, e.g. during a long pause; ids may then collide until restart.
+     */
+    @Scheduled(fixedDelayString = "${todotask.partitioning.node-lease-renewal:30s}")
+    public void renew() {
+        int node = nodeId;
+        if (node >= 0 && !claim(node)) {
+            log.error("Lease of task id node {} was taken over by another instance; restart this instance", node);
+        }
+    }
+
+    private int claimConfiguredNode(int node) {
+        if (!claim(node)) {
+            throw new IllegalStateException("Task id node " + node + " is leased by another running instance;"
+                    + " give every instance its own todotask.partitioning.node-id, or leave it unset");
+        }
+        return node;
+    }
+
+    private int claimFreeNode() {
+        for (int node = 0; node < TaskIdGenerator.MAX_NODES; node++) {
+            if (claim(node)) {
+                return node;
+            }
+        }
+        throw new IllegalStateException("All " + TaskIdGenerator.MAX_NODES + " task id nodes are leased by running instances");
+    }
+
+    /**
+     * Take or extend the lease of a node, each attempt in a transaction of its own.
+     *
+     * @return whether this instance now holds the node
+     */
+    private boolean claim(int node) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(leaseDuration);
+        if (newTransaction.execute(status -> taskNodeLeaseRepository.claim(node, owner, now, expiresAt)) > 0) {
+            return true;
+        }
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    taskNodeLeaseRepository.saveAndFlush(new TaskNodeLease(node, owner, expiresAt)));
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            // The row exists: a live lease of another instance, or a concurrent claim that won
+            return false;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.entity.TaskOutboxEvent;
+import com.shubhajit.todotask.repository.TaskOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Background relay that drains the task outbox into the configured {@link TaskEventSink}.
+ * Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, published and deleted in one
+ * transaction, so any number of nodes can run the relay side by side.
+ */
+@Component
+@ConditionalOnProperty(name = "todotask.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TaskOutboxRelay {
+    private final TaskOutboxRepository taskOutboxRepository;
+    private final TaskEventSink taskEventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter publishedEvents;
+    private final Counter failedBatches;
+    private final Timer relayLag;
+
+    public TaskOutboxRelay(TaskOutboxRepository taskOutboxRepository, TaskEventSink taskEventSink,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${todotask.outbox.batch-size:500}") int batchSize,
+                           @Value("${todotask.outbox.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.taskOutboxRepository = taskOutboxRepository;
+        this.taskEventSink = taskEventSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.publishedEvents = meterRegistry.counter("tasks.outbox.published");
+        this.failedBatches = meterRegistry.counter("tasks.outbox.failures");
+        this.relayLag = Timer.builder("tasks.outbox.lag")
+                .description("Time from a task write to its event being published")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drain full batches until the outbox is empty or the per-run limit is reached.
+     *
+     * @return number of events published
+     */
+    @Scheduled(fixedDelayString = "${todotask.outbox.poll-interval:1s}")
+    public int relay() {
+        int total = 0;
+        for (int batches = 0; batches < maxBatchesPerRun; batches++) {
+            List<TaskOutboxEvent> events;
+            try {
+                events = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException ex) {
+                failedBatches.increment();
+                log.warn("Outbox relay failed, batch will be retried: {}", ex.getMessage());
+                break;
+            }
+            // Only count a batch once its deletion has committed
+            Instant now = Instant.now();
+            events.forEach(event -> relayLag.record(Duration.between(event.getCreatedAt(), now)));
+            publishedEvents.increment(events.size());
+            total += events.size();
+            if (events.size() < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("Relayed {} task events", total);
+        }
+        return total;
+    }
+
+    private List<TaskOutboxEvent> relayBatch() {
+        List<TaskOutboxEvent> events = taskOutboxRepository.lockNextBatch(batchSize);
+        if (!events.isEmpty()) {
+            taskEventSink.publish(events);
+            taskOutboxRepository.deleteAllByIdInBatch(events.stream().map(TaskOutboxEvent::getId).toList());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,48 @@
+package com.shubhajit.todotask.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubhajit.todotask.entity.TaskOutboxEvent;
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.repository.TaskOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+/**
+ * Records every task change in the outbox table before the writing transaction commits,
+ * so the change and its event are stored atomically.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskOutboxWriter {
+    private final TaskOutboxRepository taskOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Append a change to the outbox within the current transaction.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            // Failing here rolls back the task write rather than losing its event
+            throw new UncheckedIOException(ex);
+        }
+        taskOutboxRepository.save(TaskOutboxEvent.builder()
+                .eventType(event.type())
+                .taskId(event.id())
+                .changeSeq(event.changeSeq())
+                .payload(payload)
+                .createdAt(Instant.now())
+                .build());
+    }
+}
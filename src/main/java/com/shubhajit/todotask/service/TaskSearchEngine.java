@@ -0,0 +1,23 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.model.TaskPageDTO;
+
+/**
+ * Full-text search over task titles and descriptions.
+ * Results are ordered by relevance (best first), then by id, and paged with an opaque keyset cursor.
+ */
+public interface TaskSearchEngine {
+
+    /**
+     * Search a tenant's tasks matching every term of the query.
+     *
+     * @param shard    the tenant's shard
+     * @param tenantId the tenant
+     * @param query    free-text query
+     * @param cursor   cursor from a previous page, or null for the first page
+     * @param size     maximum number of tasks in the page
+     * @return the page of matching tasks and the cursor for the next page
+     * @throws com.shubhajit.todotask.exception.InvalidTaskRequestException if the cursor is malformed
+     */
+    TaskPageDTO search(int shard, String tenantId, String query, SearchCursor cursor, int size);
+}
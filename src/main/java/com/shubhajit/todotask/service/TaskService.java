@@ -1,78 +1,339 @@
 package com.shubhajit.todotask.service;
 
+import com.shubhajit.todotask.config.CacheConfig;
+import com.shubhajit.todotask.config.ReplicaRoutingDataSource;
+import com.shubhajit.todotask.config.TenantContext;
 import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.entity.TaskTombstone;
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.exception.ChangeTokenExpiredException;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
 import com.shubhajit.todotask.exception.TaskAlreadyExistsException;
 import com.shubhajit.todotask.exception.TaskNotFoundException;
+import com.shubhajit.todotask.exception.TaskPreconditionFailedException;
+import com.shubhajit.todotask.exception.TaskQuotaExceededException;
 import com.shubhajit.todotask.mapper.TaskMapper;
+import com.shubhajit.todotask.model.TaskBatchResultDTO;
+import com.shubhajit.todotask.model.TaskChangesDTO;
 import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import com.shubhajit.todotask.model.TaskPatchDTO;
 import com.shubhajit.todotask.repository.TaskRepository;
+import com.shubhajit.todotask.repository.TaskTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service layer for managing tasks.
  * Handles business logic and repository interaction.
+ * Single-task lookups are served from the {@link CacheConfig#TASKS_CACHE} cache, which writes keep up to date.
+ * Every write publishes a {@link TaskChangedEvent} per affected task, stamps the written rows with
+ * its change sequence and leaves a {@link TaskTombstone} per deleted task for delta sync.
+ * Every operation acts for the current tenant ({@link TenantContext}): queries are scoped to the tenant and
+ * its shard, so they touch a single partition and never another tenant's rows, and inserts and deletes
+ * keep the tenant's task quota ({@link TenantQuotaService}) up to date.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "tasks.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class TaskService {
     private final TaskRepository taskRepository;
+    private final TaskChangeCounterService taskChangeCounterService;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskSearchEngine taskSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskIdGenerator taskIdGenerator;
+    private final TaskShardRouter taskShardRouter;
+    private final TenantQuotaService tenantQuotaService;
+    private final CacheManager cacheManager;
 
     /**
-     * Retrieve all tasks.
+     * Retrieve all tasks of the current tenant, ordered by id.
      *
      * @return list of TaskDTOs
      */
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasks() {
-        log.debug("Retrieving all tasks from repository");
-        return taskRepository.findAll().stream().map(TaskMapper::toDTO).toList();
+        String tenantId = TenantContext.current();
+        log.debug("Retrieving all tasks of tenant {}", tenantId);
+        return taskRepository.findAllDTOs(taskShardRouter.shardOf(tenantId), tenantId);
+    }
+
+    /**
+     * Retrieve the current version of the current tenant's task collection.
+     * It changes whenever one of the tenant's tasks is created, updated or deleted.
+     *
+     * @return the collection change count
+     */
+    @Transactional(readOnly = true)
+    public long getCollectionVersion() {
+        return taskChangeCounterService.getChangeCount(TenantContext.current());
+    }
+
+    /**
+     * Retrieve one page of tasks ordered by id, using keyset pagination.
+     *
+     * @param cursor      opaque cursor from a previous page, or null for the first page
+     * @param size        maximum number of tasks in the page
+     * @param completed   optional filter on completion status
+     * @param titlePrefix optional case-insensitive title prefix filter
+     * @return the page of TaskDTOs and the cursor for the next page
+     * @throws InvalidTaskRequestException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public TaskPageDTO getTaskPage(String cursor, int size, Boolean completed, String titlePrefix) {
+        long afterId = PageCursor.decode(cursor).afterId();
+        String tenantId = TenantContext.current();
+        int shard = taskShardRouter.shardOf(tenantId);
+        // Fetch one extra row to find out whether another page follows
+        Limit limit = Limit.of(size + 1);
+        String prefix = titlePrefix == null || titlePrefix.isBlank() ? null : Task.normalizeTitle(titlePrefix);
+        log.debug("Retrieving task page after id: {}, size: {}, completed: {}, prefix: {}", afterId, size, completed, prefix);
+        List<TaskDTO> tasks;
+        if (completed == null && prefix == null) {
+            tasks = taskRepository.findDTOsAfter(shard, tenantId, afterId, limit);
+        } else if (prefix == null) {
+            tasks = taskRepository.findDTOsAfterByCompleted(shard, tenantId, afterId, completed, limit);
+        } else if (completed == null) {
+            tasks = taskRepository.findDTOsAfterByTitleKeyLike(shard, tenantId, afterId, prefixPattern(prefix), limit);
+        } else {
+            tasks = taskRepository.findDTOsAfterByCompletedAndTitleKeyLike(
+                    shard, tenantId, afterId, completed, prefixPattern(prefix), limit);
+        }
+        boolean hasMore = tasks.size() > size;
+        List<TaskDTO> items = hasMore ? tasks.subList(0, size) : tasks;
+        String nextCursor = hasMore ? new PageCursor(items.get(items.size() - 1).getId()).encode() : null;
+        return new TaskPageDTO(items, nextCursor);
+    }
+
+    /**
+     * Retrieve the current tenant's tasks created, updated or deleted since a delta-sync token, in change order.
+     * Without a token every current task is returned, followed by later changes.
+     *
+     * @param since token from a previous response, or null to start a full sync
+     * @param size  maximum number of changes in the response
+     * @return the changed tasks, deleted ids and the token to continue from
+     * @throws InvalidTaskRequestException  if the token is malformed
+     * @throws ChangeTokenExpiredException if tombstones the client has not seen were compacted
+     */
+    @Transactional(readOnly = true)
+    public TaskChangesDTO getChanges(String since, int size) {
+        String tenantId = TenantContext.current();
+        ChangeToken token = ChangeToken.decode(since);
+        if (token == null) {
+            token = ChangeToken.start(taskChangeCounterService.getChangeCount(tenantId));
+        } else if (token.floor() < taskChangeCounterService.getCompactedSeq(tenantId)) {
+            throw new ChangeTokenExpiredException("Change token has expired, sync again without a token");
+        }
+        log.debug("Retrieving changes after seq: {}, id: {}, size: {}", token.seq(), token.id(), size);
+        // Fetch one extra row of each kind to find out whether more changes follow
+        Limit limit = Limit.of(size + 1);
+        List<Task> tasks = taskRepository.findChangedAfter(
+                taskShardRouter.shardOf(tenantId), tenantId, token.seq(), token.id(), limit);
+        List<TaskTombstone> tombstones = taskTombstoneRepository.findDeletedAfter(tenantId, token.seq(), token.id(), limit);
+        List<TaskDTO> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        int t = 0;
+        int d = 0;
+        // Merge both feeds by (change sequence, id) so the token never skips over a change
+        while (t + d < size && (t < tasks.size() || d < tombstones.size())) {
+            if (d == tombstones.size() || t < tasks.size() && isBefore(tasks.get(t), tombstones.get(d))) {
+                Task task = tasks.get(t++);
+                changed.add(TaskMapper.toDTO(task));
+                token = token.advance(task.getChangeSeq(), task.getId());
+            } else {
+                TaskTombstone tombstone = tombstones.get(d++);
+                deleted.add(tombstone.getId());
+                token = token.advance(tombstone.getChangeSeq(), tombstone.getId());
+            }
+        }
+        boolean hasMore = t < tasks.size() || d < tombstones.size();
+        return new TaskChangesDTO(changed, deleted, token.encode(), hasMore);
+    }
+
+    /**
+     * Full-text search over the current tenant's task titles and descriptions, best matches first.
+     *
+     * @param query  free-text query
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param size   maximum number of tasks in the page
+     * @return the page of matching TaskDTOs and the cursor for the next page
+     * @throws InvalidTaskRequestException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public TaskPageDTO searchTasks(String query, String cursor, int size) {
+        String tenantId = TenantContext.current();
+        return taskSearchEngine.search(taskShardRouter.shardOf(tenantId), tenantId, query.trim(), SearchCursor.decode(cursor), size);
     }
 
     /**
      * Retrieve a task by its ID.
+     * A miss is loaded from the primary even in a read-only transaction: the result is cached until the
+     * tenant's next write, so a row from a lagging replica would be served long after the replica caught up.
      *
      * @param id the task ID
      * @return TaskDTO if found
      * @throws TaskNotFoundException if not found
      */
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY, condition = CacheConfig.UNLESS_PINNED, sync = true)
+    @Transactional(readOnly = true)
     public TaskDTO getTaskById(Long id) {
         log.debug("Retrieving task by id: {}", id);
-        return taskRepository.findById(id)
-                .map(TaskMapper::toDTO)
+        String tenantId = TenantContext.current();
+        return ReplicaRoutingDataSource.onPrimary(() -> taskRepository.findDTOById(taskShardRouter.shardOf(tenantId), tenantId, id))
                 .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
     }
 
     /**
      * Save or update a task.
+     * On update, a non-null {@code dto.version} must match the stored version.
      *
      * @param dto the TaskDTO to save
      * @return the saved TaskDTO
-     * @throws TaskAlreadyExistsException if duplicate title on create
-     * @throws TaskNotFoundException      if updating non-existent task
+     * @throws TaskAlreadyExistsException      if another task of the tenant already has the same title (case-insensitive)
+     * @throws TaskNotFoundException           if updating non-existent task
+     * @throws TaskPreconditionFailedException if the expected version is stale
+     * @throws TaskQuotaExceededException      if creating the task would exceed the tenant's task quota
      */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.RESULT_TASK_KEY)
     public TaskDTO saveTask(TaskDTO dto) {
         Task entity = TaskMapper.toEntity(dto);
-        if (entity.getId() == null) {
-            // Check for duplicate by title (example logic, adjust as needed)
-            boolean exists = taskRepository.findAll().stream()
-                    .anyMatch(t -> t.getTitle().equalsIgnoreCase(entity.getTitle()));
-            if (exists) {
+        boolean created = entity.getId() == null;
+        String tenantId = TenantContext.current();
+        int shard = taskShardRouter.shardOf(tenantId);
+        if (created) {
+            // Fast path for the common case; the unique index on TITLE_KEY is the real guard
+            if (taskRepository.existsByShardAndTenantIdAndTitleKey(shard, tenantId, Task.normalizeTitle(entity.getTitle()))) {
                 throw new TaskAlreadyExistsException("Task already exists with title: " + entity.getTitle());
             }
-            log.info("Saving new task: {}", entity.getTitle());
+            assignNewId(entity, tenantId, shard);
+            log.debug("Saving new task: {}", entity.getTitle());
         } else {
-            // For update, check if task exists
-            if (!taskRepository.existsById(entity.getId())) {
-                throw new TaskNotFoundException("Task not found with id: " + entity.getId());
-            }
-            log.info("Updating task with id: {}", entity.getId());
+            // For update, load the current row so Hibernate's version check guards the write
+            Long id = entity.getId();
+            Task existing = taskRepository.findByShardAndTenantIdAndId(shard, tenantId, id)
+                    .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+            checkVersion(existing, dto.getVersion());
+            existing.setTitle(entity.getTitle());
+            existing.setDescription(entity.getDescription());
+            existing.setCompleted(entity.isCompleted());
+            entity = existing;
+            log.debug("Updating task with id: {}", entity.getId());
+        }
+        long changeSeq = taskChangeCounterService.recordChange(tenantId);
+        entity.markChanged(changeSeq);
+        if (created) {
+            tenantQuotaService.reserveTasks(tenantId, 1);
+        }
+        Task saved;
+        try {
+            // Flush eagerly so a concurrent duplicate surfaces here as a unique violation
+            saved = taskRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException ex) {
+            throw titleConflict(ex, "Task already exists with title: " + entity.getTitle());
+        }
+        TaskDTO result = TaskMapper.toDTO(saved);
+        eventPublisher.publishEvent(created ? TaskChangedEvent.created(tenantId, changeSeq, result)
+                : TaskChangedEvent.updated(tenantId, changeSeq, result));
+        return result;
+    }
+
+    /**
+     * Apply a JSON Merge Patch to a task with one UPDATE of the changed columns only.
+     *
+     * @param id              the task ID
+     * @param patch           the fields to change
+     * @param expectedVersion version the task must still have, or null for an unconditional patch
+     * @return the patched TaskDTO
+     * @throws InvalidTaskRequestException     if the patch removes a required field
+     * @throws TaskAlreadyExistsException      if another task already has the new title (case-insensitive)
+     * @throws TaskNotFoundException           if task not found
+     * @throws TaskPreconditionFailedException if the task has a different version
+     */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
+    public TaskDTO patchTask(Long id, TaskPatchDTO patch, Long expectedVersion) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.getTitle() != null) {
+            String title = patch.getTitle().orElseThrow(() -> new InvalidTaskRequestException("Title cannot be removed"));
+            changes.put("title", title);
+            // Bulk updates bypass the entity callbacks, so keep the title key in sync here
+            changes.put("titleKey", Task.normalizeTitle(title));
+        }
+        if (patch.getDescription() != null) {
+            changes.put("description", patch.getDescription().orElse(null));
+        }
+        if (patch.getCompleted() != null) {
+            changes.put("completed", patch.getCompleted().orElseThrow(() -> new InvalidTaskRequestException("Completed cannot be removed")));
+        }
+        String tenantId = TenantContext.current();
+        int shard = taskShardRouter.shardOf(tenantId);
+        if (changes.isEmpty()) {
+            Task task = taskRepository.findByShardAndTenantIdAndId(shard, tenantId, id)
+                    .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+            checkVersion(task, expectedVersion);
+            return TaskMapper.toDTO(task);
         }
-        Task saved = taskRepository.save(entity);
-        return TaskMapper.toDTO(saved);
+        log.debug("Patching task with id: {}, fields: {}", id, changes.keySet());
+        long changeSeq = taskChangeCounterService.recordChange(tenantId);
+        int updated;
+        try {
+            updated = taskRepository.patchById(shard, tenantId, id, changes, expectedVersion, changeSeq);
+        } catch (DataIntegrityViolationException ex) {
+            throw titleConflict(ex, "Task already exists with title: " + changes.get("title"));
+        }
+        if (updated == 0) {
+            throw missingOrStale(shard, tenantId, id, expectedVersion);
+        }
+        return afterTargetedUpdate(shard, tenantId, id, changeSeq);
+    }
+
+    /**
+     * Mark a task completed (or not) with one UPDATE of the completion flag.
+     *
+     * @param id        the task ID
+     * @param completed the new completion status
+     * @return the updated TaskDTO
+     * @throws TaskNotFoundException if task not found
+     */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
+    public TaskDTO completeTask(Long id, boolean completed) {
+        log.debug("Setting completed: {} on task with id: {}", completed, id);
+        String tenantId = TenantContext.current();
+        int shard = taskShardRouter.shardOf(tenantId);
+        long changeSeq = taskChangeCounterService.recordChange(tenantId);
+        if (taskRepository.updateCompleted(shard, tenantId, id, completed, changeSeq, Instant.now()) == 0) {
+            throw new TaskNotFoundException("Task not found with id: " + id);
+        }
+        return afterTargetedUpdate(shard, tenantId, id, changeSeq);
     }
 
     /**
@@ -82,12 +343,294 @@ public class TaskService {
      * @return true if deleted successfully
      * @throws TaskNotFoundException if task not found
      */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
     public boolean deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
+        log.debug("Deleting task with id: {}", id);
+        String tenantId = TenantContext.current();
+        long changeSeq = taskChangeCounterService.recordChange(tenantId);
+        if (taskRepository.deleteByShardAndTenantIdAndId(taskShardRouter.shardOf(tenantId), tenantId, id) == 0) {
             throw new TaskNotFoundException("Task not found with id: " + id);
         }
-        log.info("Deleting task with id: {}", id);
-        taskRepository.deleteById(id);
+        afterDelete(tenantId, List.of(id), changeSeq);
         return true;
     }
+
+    /**
+     * Delete a task only if it still has the expected version.
+     *
+     * @param id              the task ID
+     * @param expectedVersion the version the caller last saw
+     * @return true if deleted successfully
+     * @throws TaskNotFoundException           if task not found
+     * @throws TaskPreconditionFailedException if the task has a different version
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = CacheConfig.TASK_KEY)
+    public boolean deleteTask(Long id, long expectedVersion) {
+        log.debug("Deleting task with id: {} at version: {}", id, expectedVersion);
+        String tenantId = TenantContext.current();
+        int shard = taskShardRouter.shardOf(tenantId);
+        long changeSeq = taskChangeCounterService.recordChange(tenantId);
+        if (taskRepository.deleteByShardAndTenantIdAndIdAndVersion(shard, tenantId, id, expectedVersion) == 0) {
+            throw missingOrStale(shard, tenantId, id, expectedVersion);
+        }
+        afterDelete(tenantId, List.of(id), changeSeq);
+        return true;
+    }
+
+    /**
+     * Create several tasks in one transaction, letting Hibernate batch the inserts.
+     * Items whose title already exists (in the store or earlier in the batch) are reported
+     * as 409 results without aborting the rest of the batch.
+     *
+     * @param dtos the tasks to create
+     * @return one result per input item, in input order
+     * @throws TaskAlreadyExistsException if a concurrent insert claims one of the titles
+     * @throws TaskQuotaExceededException if the accepted items would exceed the tenant's task quota
+     */
+    @Transactional
+    public List<TaskBatchResultDTO> createTasks(List<TaskDTO> dtos) {
+        String tenantId = TenantContext.current();
+        int shard = taskShardRouter.shardOf(tenantId);
+        Set<String> titleKeys = dtos.stream().map(dto -> Task.normalizeTitle(dto.getTitle())).collect(Collectors.toSet());
+        Set<String> takenKeys = new HashSet<>(taskRepository.findExistingTitleKeys(shard, tenantId, titleKeys));
+        List<TaskBatchResultDTO> results = new ArrayList<>(dtos.size());
+        Map<Integer, Task> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            Task entity = TaskMapper.toEntity(dtos.get(i));
+            if (takenKeys.add(Task.normalizeTitle(entity.getTitle()))) {
+                assignNewId(entity, tenantId, shard);
+                accepted.put(i, entity);
+                results.add(null);
+            } else {
+                results.add(batchFailure(i, HttpStatus.CONFLICT, null, "Task already exists with title: " + entity.getTitle()));
+            }
+        }
+        if (!accepted.isEmpty()) {
+            long changeSeq = taskChangeCounterService.recordChange(tenantId);
+            accepted.values().forEach(task -> task.markChanged(changeSeq));
+            tenantQuotaService.reserveTasks(tenantId, accepted.size());
+        }
+        taskRepository.saveAll(accepted.values());
+        flushBatch();
+        accepted.forEach((i, task) -> {
+            TaskBatchResultDTO result = batchSuccess(i, HttpStatus.CREATED, task);
+            results.set(i, result);
+            eventPublisher.publishEvent(TaskChangedEvent.created(tenantId, task.getChangeSeq(), result.getTask()));
+        });
+        log.info("Batch created {} of {} tasks", accepted.size(), dtos.size());
+        return results;
+    }
+
+    /**
+     * Update several tasks in one transaction, letting Hibernate batch the updates.
+     * Missing ids are reported as 404 and title clashes as 409, per item.
+     *
+     * @param dtos the tasks to update; each must carry its id
+     * @return one result per input item, in input order
+     * @throws TaskAlreadyExistsException if a concurrent write claims one of the titles
+     */
+    @Transactional
+    public List<TaskBatchResultDTO> updateTasks(List<TaskDTO> dtos) {
+        String tenantId = TenantContext.current();
+        int shard = taskShardRouter.shardOf(tenantId);
+        List<Long> ids = dtos.stream().map(TaskDTO::getId).filter(Objects::nonNull).toList();
+        Map<Long, Task> existing = taskRepository.findByShardAndTenantIdAndIdIn(shard, tenantId, ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Set<String> titleKeys = dtos.stream().map(dto -> Task.normalizeTitle(dto.getTitle())).collect(Collectors.toSet());
+        Map<String, Long> keyOwners = taskRepository.findByShardAndTenantIdAndTitleKeyIn(shard, tenantId, titleKeys).stream()
+                .collect(Collectors.toMap(Task::getTitleKey, Task::getId));
+        List<TaskBatchResultDTO> results = new ArrayList<>(dtos.size());
+        List<Task> updated = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            TaskDTO dto = dtos.get(i);
+            Task task = dto.getId() == null ? null : existing.get(dto.getId());
+            if (task == null) {
+                results.add(batchFailure(i, HttpStatus.NOT_FOUND, dto.getId(), "Task not found with id: " + dto.getId()));
+                continue;
+            }
+            if (dto.getVersion() != null && dto.getVersion() != task.getVersion()) {
+                results.add(batchFailure(i, HttpStatus.PRECONDITION_FAILED, task.getId(),
+                        "Task " + task.getId() + " does not have version " + dto.getVersion()));
+                continue;
+            }
+            Long owner = keyOwners.putIfAbsent(Task.normalizeTitle(dto.getTitle()), task.getId());
+            if (owner != null && !owner.equals(task.getId())) {
+                results.add(batchFailure(i, HttpStatus.CONFLICT, task.getId(), "Task already exists with title: " + dto.getTitle()));
+                continue;
+            }
+            task.setTitle(dto.getTitle());
+            task.setDescription(dto.getDescription());
+            task.setCompleted(dto.isCompleted());
+            results.add(batchSuccess(i, HttpStatus.OK, task));
+            updated.add(task);
+        }
+        if (!updated.isEmpty()) {
+            long changeSeq = taskChangeCounterService.recordChange(tenantId);
+            updated.forEach(task -> task.markChanged(changeSeq));
+            evictCached(tenantId, updated.stream().map(Task::getId).toList());
+        }
+        flushBatch();
+        // Flushing bumps versions, so build the events from the flushed entities
+        for (TaskBatchResultDTO result : results) {
+            if (result.getStatus() == HttpStatus.OK.value()) {
+                Task task = existing.get(result.getId());
+                result.setTask(TaskMapper.toDTO(task));
+                eventPublisher.publishEvent(TaskChangedEvent.updated(tenantId, task.getChangeSeq(), result.getTask()));
+            }
+        }
+        log.info("Batch updated {} of {} tasks", updated.size(), dtos.size());
+        return results;
+    }
+
+    /**
+     * Delete several tasks with a single bulk DELETE statement.
+     * Ids that do not exist are reported as 404 results.
+     *
+     * @param ids the task IDs to delete
+     * @return one result per input id, in input order
+     */
+    @Transactional
+    public List<TaskBatchResultDTO> deleteTasks(List<Long> ids) {
+        String tenantId = TenantContext.current();
+        int shard = taskShardRouter.shardOf(tenantId);
+        Set<Long> existing = new HashSet<>(taskRepository.findExistingIds(shard, tenantId, ids));
+        List<Long> toDelete = new ArrayList<>(existing.size());
+        List<TaskBatchResultDTO> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (existing.remove(id)) {
+                toDelete.add(id);
+                results.add(TaskBatchResultDTO.builder().index(i).status(HttpStatus.NO_CONTENT.value()).id(id).build());
+            } else {
+                results.add(batchFailure(i, HttpStatus.NOT_FOUND, id, "Task not found with id: " + id));
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            long changeSeq = taskChangeCounterService.recordChange(tenantId);
+            taskRepository.deleteByShardAndTenantIdAndIdIn(shard, tenantId, toDelete);
+            evictCached(tenantId, toDelete);
+            afterDelete(tenantId, toDelete, changeSeq);
+        }
+        log.info("Batch deleted {} of {} tasks", toDelete.size(), ids.size());
+        return results;
+    }
+
+    /**
+     * Finish a write made by a bulk UPDATE: read back the new row state in the same transaction
+     * for the response, cache and change event.
+     */
+    private TaskDTO afterTargetedUpdate(int shard, String tenantId, Long id, long changeSeq) {
+        TaskDTO result = taskRepository.findByShardAndTenantIdAndId(shard, tenantId, id)
+                .map(TaskMapper::toDTO)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+        eventPublisher.publishEvent(TaskChangedEvent.updated(tenantId, changeSeq, result));
+        return result;
+    }
+
+    /**
+     * Evict the cached entries of tasks written by a batch. The cache manager is transaction-aware,
+     * so the evictions happen once the batch commits.
+     */
+    private void evictCached(String tenantId, List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        if (cache != null) {
+            ids.forEach(id -> cache.evict(CacheConfig.taskKey(tenantId, id)));
+        }
+    }
+
+    /**
+     * Finish a delete: leave tombstones for delta sync, return the tasks to the tenant's quota and
+     * publish the change events.
+     */
+    private void afterDelete(String tenantId, List<Long> ids, long changeSeq) {
+        Instant deletedAt = Instant.now();
+        taskTombstoneRepository.saveAll(ids.stream().map(id -> tombstone(tenantId, id, changeSeq, deletedAt)).toList());
+        tenantQuotaService.releaseTasks(tenantId, ids.size());
+        ids.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(tenantId, changeSeq, id)));
+    }
+
+    /**
+     * Explain why a conditional write matched no row.
+     */
+    private RuntimeException missingOrStale(int shard, String tenantId, Long id, Long expectedVersion) {
+        if (expectedVersion == null || !taskRepository.existsByShardAndTenantIdAndId(shard, tenantId, id)) {
+            return new TaskNotFoundException("Task not found with id: " + id);
+        }
+        return new TaskPreconditionFailedException("Task " + id + " does not have version " + expectedVersion);
+    }
+
+    /**
+     * Place a new task in its tenant's shard and give it an id that encodes that shard.
+     */
+    private void assignNewId(Task task, String tenantId, int shard) {
+        task.setTenantId(tenantId);
+        task.setShard(shard);
+        task.setId(taskIdGenerator.nextId(shard));
+    }
+
+    /**
+     * Turn a normalized title prefix into a LIKE pattern, escaping the wildcards it contains.
+     */
+    private static String prefixPattern(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != task.getVersion()) {
+            throw new TaskPreconditionFailedException("Task " + task.getId() + " does not have version " + expectedVersion);
+        }
+    }
+
+    private static TaskTombstone tombstone(String tenantId, long id, long changeSeq, Instant deletedAt) {
+        return TaskTombstone.builder().id(id).tenantId(tenantId).changeSeq(changeSeq).deletedAt(deletedAt).build();
+    }
+
+    private static boolean isBefore(Task task, TaskTombstone tombstone) {
+        return task.getChangeSeq() < tombstone.getChangeSeq()
+                || task.getChangeSeq() == tombstone.getChangeSeq() && task.getId() < tombstone.getId();
+    }
+
+    private void flushBatch() {
+        try {
+            taskRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            throw titleConflict(ex, "Batch conflicts with a concurrently written task title");
+        }
+    }
+
+    /**
+     * A unique violation of the title index is the client's conflict (409). Any other violation, such as
+     * two instances generating the same id, is a server fault and is rethrown as is.
+     */
+    private static RuntimeException titleConflict(DataIntegrityViolationException ex, String message) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toUpperCase(Locale.ROOT).contains("TITLE_KEY")
+                        ? new TaskAlreadyExistsException(message)
+                        : ex;
+            }
+        }
+        // Constraint unknown: the title index is the only unique key a client can hit
+        return new TaskAlreadyExistsException(message);
+    }
+
+    private static TaskBatchResultDTO batchSuccess(int index, HttpStatus status, Task task) {
+        return TaskBatchResultDTO.builder()
+                .index(index)
+                .status(status.value())
+                .id(task.getId())
+                .task(TaskMapper.toDTO(task))
+                .build();
+    }
+
+    private static TaskBatchResultDTO batchFailure(int index, HttpStatus status, Long id, String error) {
+        return TaskBatchResultDTO.builder()
+                .index(index)
+                .status(status.value())
+                .id(id)
+                .error(error)
+                .build();
+    }
 }
@@ -0,0 +1,49 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.entity.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps tenants to the shards (Postgres partitions) of the task table.
+ * <p>
+ * A tenant's shard is a hash of its id modulo the shard count, except the default tenant, which is pinned
+ * to shard 0 where the rows from before partitioning live. The shard count must match the partitions
+ * created by the migrations, so it is fixed once the database is migrated. Every task query is scoped to
+ * one tenant, so it always names a single shard.
+ */
+@Component
+public class TaskShardRouter {
+    private final int shardCount;
+
+    public TaskShardRouter(@Value("${todotask.partitioning.shards:16}") int shardCount) {
+        if (shardCount < 1 || shardCount > TaskIdGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + TaskIdGenerator.MAX_SHARDS + ": " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Shard holding the tasks of the given tenant.
+     *
+     * @param tenantId the tenant
+     * @return a shard between 0 and the shard count (exclusive)
+     */
+    public int shardOf(String tenantId) {
+        if (Task.DEFAULT_TENANT.equals(tenantId)) {
+            return 0;
+        }
+        // Spread String.hashCode (stable across JVMs) with the murmur3 finalizer before taking the modulus
+        int h = tenantId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shardCount);
+    }
+}
@@ -0,0 +1,78 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.entity.TaskTombstone;
+import com.shubhajit.todotask.repository.TaskChangeCounterRepository;
+import com.shubhajit.todotask.repository.TaskTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes tombstones older than the retention window, one bounded batch per transaction.
+ * Each batch raises the compaction watermark of every tenant in it to that tenant's highest compacted
+ * change sequence in the same transaction, so delta-sync tokens that could miss a compacted deletion
+ * are answered with 410.
+ */
+@Service
+@Slf4j
+public class TaskTombstoneCompactor {
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskChangeCounterRepository taskChangeCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+
+    public TaskTombstoneCompactor(TaskTombstoneRepository taskTombstoneRepository,
+                                  TaskChangeCounterRepository taskChangeCounterRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${todotask.sync.tombstone-retention:30d}") Duration retention,
+                                  @Value("${todotask.sync.compaction-batch-size:1000}") int batchSize) {
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskChangeCounterRepository = taskChangeCounterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Compact expired tombstones, oldest change first.
+     *
+     * @return number of tombstones deleted
+     */
+    @Scheduled(fixedDelayString = "${todotask.sync.compaction-interval:1h}")
+    public int compact() {
+        Instant cutoff = Instant.now().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> compactBatch(cutoff));
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Compacted {} task tombstones older than {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int compactBatch(Instant cutoff) {
+        List<TaskTombstone> batch = taskTombstoneRepository.findByDeletedAtBeforeOrderByChangeSeqAsc(cutoff, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<String, Long> watermarks = batch.stream().collect(
+                Collectors.toMap(TaskTombstone::getTenantId, TaskTombstone::getChangeSeq, Math::max));
+        watermarks.forEach(taskChangeCounterRepository::raiseCompactedSeq);
+        taskTombstoneRepository.deleteAllByIdInBatch(batch.stream().map(TaskTombstone::getId).toList());
+        return batch.size();
+    }
+}
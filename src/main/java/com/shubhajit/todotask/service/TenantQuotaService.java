@@ -0,0 +1,88 @@
+package com.shubhajit.todotask.service;
+
+import com.shubhajit.todotask.config.TenancyProperties;
+import com.shubhajit.todotask.entity.TenantUsage;
+import com.shubhajit.todotask.exception.TaskQuotaExceededException;
+import com.shubhajit.todotask.repository.TenantUsageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Enforces per-tenant task quotas against the {@link TenantUsage} counter row, which task inserts and
+ * deletes adjust in their own transaction, so a check is one conditional UPDATE rather than a COUNT.
+ * <p>
+ * The row stays locked until the caller commits. Callers take it after the tenant's change counter,
+ * like every other task write, so the two locks are always acquired in the same order.
+ */
+@Service
+@Slf4j
+public class TenantQuotaService {
+    private final TenantUsageRepository tenantUsageRepository;
+    private final TransactionTemplate newTransaction;
+    private final long defaultMaxTasks;
+    private final Map<String, Long> maxTasksPerTenant;
+
+    public TenantQuotaService(TenantUsageRepository tenantUsageRepository, PlatformTransactionManager transactionManager,
+                              TenancyProperties properties) {
+        this.tenantUsageRepository = tenantUsageRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.defaultMaxTasks = properties.getQuota().getMaxTasks();
+        this.maxTasksPerTenant = Map.copyOf(properties.getQuota().getMaxTasksPerTenant());
+    }
+
+    /**
+     * Count new tasks against a tenant's quota, within the caller's transaction.
+     *
+     * @param tenantId the tenant
+     * @param count    number of tasks about to be inserted
+     * @throws TaskQuotaExceededException if the tenant would own more tasks than its quota
+     */
+    public void reserveTasks(String tenantId, int count) {
+        if (count == 0) {
+            return;
+        }
+        long limit = maxTasksPerTenant.getOrDefault(tenantId, defaultMaxTasks);
+        if (tenantUsageRepository.addTasks(tenantId, count, limit) == 1) {
+            return;
+        }
+        if (!tenantUsageRepository.existsById(tenantId)) {
+            createUsage(tenantId);
+            if (tenantUsageRepository.addTasks(tenantId, count, limit) == 1) {
+                return;
+            }
+        }
+        throw new TaskQuotaExceededException("Task quota of " + limit + " tasks reached");
+    }
+
+    /**
+     * Give deleted tasks back to a tenant's quota, within the caller's transaction.
+     *
+     * @param tenantId the tenant
+     * @param count    number of tasks deleted
+     */
+    public void releaseTasks(String tenantId, int count) {
+        if (count > 0) {
+            tenantUsageRepository.removeTasks(tenantId, count);
+        }
+    }
+
+    /**
+     * Insert a tenant's first counter row in a transaction of its own, so losing the race to a
+     * concurrent first write does not abort the caller's transaction.
+     */
+    private void createUsage(String tenantId) {
+        try {
+            newTransaction.executeWithoutResult(status -> tenantUsageRepository.saveAndFlush(new TenantUsage(tenantId, 0)));
+            log.info("Started task usage tracking for tenant {}", tenantId);
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Task usage of tenant {} was created concurrently", tenantId);
+        }
+    }
+}
@@ -1,15 +0,0 @@
--- Sample data for Task table
-INSERT INTO TASK (TITLE, DESCRIPTION, COMPLETED) VALUES
-  ('Buy groceries', 'Milk, Bread, Eggs, and Fruits', FALSE),
-  ('Finish project', 'Complete the Spring Boot to-do app', FALSE),
-  ('Read a book', 'Read at least 30 pages of a novel', TRUE),
-  ('Go for a run', 'Jog for 30 minutes in the park', FALSE),
-  ('Call mom', 'Weekly check-in call', TRUE),
-  ('Plan vacation', 'Research destinations and book flights', FALSE),
-  ('Pay bills', 'Electricity, Internet, and Water bills', TRUE),
-  ('Clean the house', 'Vacuum and dust all rooms', FALSE),
-  ('Write blog post', 'Draft a new article for the tech blog', FALSE),
-  ('Team meeting', 'Discuss project updates with the team', TRUE),
-  ('Doctor appointment', 'Annual health checkup at 10 AM', FALSE),
-  ('Update resume', 'Add recent projects and skills', FALSE),
-  ('Backup files', 'Backup important documents to cloud storage', TRUE);
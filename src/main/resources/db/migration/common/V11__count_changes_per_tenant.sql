@@ -0,0 +1,19 @@
+-- One change counter per tenant instead of a single row, so writes of different tenants no longer
+-- queue on the same row lock. Every tenant starts from the old global value, which keeps each
+-- tenant's sequence above the CHANGE_SEQ already stamped on its rows and its outstanding sync tokens
+ALTER TABLE TASK_CHANGE_COUNTER RENAME TO TASK_CHANGE_COUNTER_GLOBAL;
+
+CREATE TABLE TASK_CHANGE_COUNTER (
+  TENANT_ID VARCHAR(64) PRIMARY KEY,
+  CHANGE_COUNT BIGINT NOT NULL,
+  COMPACTED_SEQ BIGINT DEFAULT 0 NOT NULL
+);
+
+INSERT INTO TASK_CHANGE_COUNTER (TENANT_ID, CHANGE_COUNT, COMPACTED_SEQ)
+  SELECT t.TENANT_ID, g.CHANGE_COUNT, g.COMPACTED_SEQ
+  FROM (SELECT TENANT_ID FROM TASK
+        UNION SELECT TENANT_ID FROM TASK_TOMBSTONE
+        UNION SELECT 'default' FROM TASK_CHANGE_COUNTER_GLOBAL) t
+  CROSS JOIN TASK_CHANGE_COUNTER_GLOBAL g;
+
+DROP TABLE TASK_CHANGE_COUNTER_GLOBAL;
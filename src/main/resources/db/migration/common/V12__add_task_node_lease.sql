@@ -0,0 +1,7 @@
+-- Task id node (0-63) of each running instance, claimed at startup and renewed while it runs, so two
+-- instances never generate ids with the same node bits. An expired lease may be taken over
+CREATE TABLE IF NOT EXISTS TASK_NODE_LEASE (
+  NODE_ID INT PRIMARY KEY,
+  OWNER VARCHAR(255) NOT NULL,
+  EXPIRES_AT TIMESTAMP WITH TIME ZONE NOT NULL
+);
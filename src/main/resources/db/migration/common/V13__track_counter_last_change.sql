@@ -0,0 +1,5 @@
+-- When each tenant's counter was last bumped, so a node polling for writes made elsewhere reads only
+-- the counters changed since its previous poll instead of every tenant's row
+ALTER TABLE TASK_CHANGE_COUNTER ADD COLUMN LAST_CHANGED TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+CREATE INDEX IF NOT EXISTS IX_TASK_CHANGE_COUNTER_LAST_CHANGED ON TASK_CHANGE_COUNTER (LAST_CHANGED);
@@ -0,0 +1,6 @@
+-- Outbox ids come from per-node blocks of TASK_OUTBOX_SEQ, so they do not follow commit order across nodes.
+-- Each event now carries its write's per-tenant CHANGE_SEQ and the relay drains by it; events still pending
+-- from before this migration get 0 and are relayed first
+ALTER TABLE TASK_OUTBOX_EVENT ADD COLUMN CHANGE_SEQ BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS IX_TASK_OUTBOX_EVENT_CHANGE_SEQ ON TASK_OUTBOX_EVENT (CHANGE_SEQ, ID);
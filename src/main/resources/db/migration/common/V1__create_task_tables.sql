@@ -0,0 +1,50 @@
+-- Baseline schema, portable between Postgres and H2. Existing databases created from the old schema.sql
+-- are baselined at version 0, so every statement here must be a no-op when the object already exists.
+
+-- Id sequence for Task; INCREMENT BY must match allocationSize of the entity's pooled generator
+CREATE SEQUENCE IF NOT EXISTS TASK_SEQ START WITH 101 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS TASK (
+  ID BIGINT PRIMARY KEY,
+  TITLE VARCHAR(255),
+  TITLE_KEY VARCHAR(255) NOT NULL,
+  DESCRIPTION VARCHAR(255),
+  COMPLETED BOOLEAN,
+  VERSION BIGINT DEFAULT 0 NOT NULL
+);
+
+-- Case-insensitive uniqueness of titles, enforced by the database
+CREATE UNIQUE INDEX IF NOT EXISTS UX_TASK_TITLE_KEY ON TASK (TITLE_KEY);
+
+-- Keyset pagination filtered by completion status
+CREATE INDEX IF NOT EXISTS IX_TASK_COMPLETED_ID ON TASK (COMPLETED, ID);
+
+-- Single-row counter bumped by every write to TASK; backs the collection ETag
+CREATE TABLE IF NOT EXISTS TASK_CHANGE_COUNTER (
+  ID INT PRIMARY KEY,
+  CHANGE_COUNT BIGINT NOT NULL
+);
+
+INSERT INTO TASK_CHANGE_COUNTER (ID, CHANGE_COUNT)
+  SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM TASK_CHANGE_COUNTER WHERE ID = 1);
+
+-- Task change events written with each task write and drained by the outbox relay
+CREATE SEQUENCE IF NOT EXISTS TASK_OUTBOX_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS TASK_OUTBOX_EVENT (
+  ID BIGINT PRIMARY KEY,
+  EVENT_TYPE VARCHAR(16) NOT NULL,
+  TASK_ID BIGINT NOT NULL,
+  PAYLOAD VARCHAR(4000),
+  CREATED_AT TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Stored responses for Idempotency-Key retries; expired rows are purged in batches
+CREATE TABLE IF NOT EXISTS IDEMPOTENCY_RECORD (
+  IDEMPOTENCY_KEY VARCHAR(255) PRIMARY KEY,
+  REQUEST_HASH VARCHAR(64) NOT NULL,
+  RESPONSE_BODY VARCHAR(1000000),
+  EXPIRES_AT TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS IX_IDEMPOTENCY_RECORD_EXPIRES_AT ON IDEMPOTENCY_RECORD (EXPIRES_AT);
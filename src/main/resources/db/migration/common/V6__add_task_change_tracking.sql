@@ -0,0 +1,18 @@
+-- Delta sync: every task write is stamped with the change counter value it produced, and deleted
+-- tasks leave a tombstone until the compaction job removes it. A constant default keeps the
+-- column add a metadata-only change on Postgres
+ALTER TABLE TASK ADD COLUMN IF NOT EXISTS CHANGE_SEQ BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE TASK ADD COLUMN IF NOT EXISTS LAST_MODIFIED TIMESTAMP WITH TIME ZONE;
+
+-- Highest change sequence of a compacted tombstone; older sync tokens are rejected with 410
+ALTER TABLE TASK_CHANGE_COUNTER ADD COLUMN IF NOT EXISTS COMPACTED_SEQ BIGINT DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS TASK_TOMBSTONE (
+  ID BIGINT PRIMARY KEY,
+  CHANGE_SEQ BIGINT NOT NULL,
+  DELETED_AT TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Keyset paging of GET /api/tasks/changes, and the compaction scan
+CREATE INDEX IF NOT EXISTS IX_TASK_TOMBSTONE_CHANGE_SEQ ON TASK_TOMBSTONE (CHANGE_SEQ, ID);
+CREATE INDEX IF NOT EXISTS IX_TASK_TOMBSTONE_DELETED_AT ON TASK_TOMBSTONE (DELETED_AT);
@@ -0,0 +1,17 @@
+-- Tombstones belong to the tenant of the deleted task, so delta sync only returns a tenant's own deletions
+ALTER TABLE TASK_TOMBSTONE ADD COLUMN IF NOT EXISTS TENANT_ID VARCHAR(64) DEFAULT 'default' NOT NULL;
+DROP INDEX IF EXISTS IX_TASK_TOMBSTONE_CHANGE_SEQ;
+CREATE INDEX IF NOT EXISTS IX_TASK_TOMBSTONE_TENANT_CHANGE_SEQ ON TASK_TOMBSTONE (TENANT_ID, CHANGE_SEQ, ID);
+
+-- Tasks owned by each tenant, kept up to date by every insert and delete so the quota check is a
+-- conditional UPDATE of one row instead of a COUNT over the tenant's tasks
+CREATE TABLE IF NOT EXISTS TENANT_USAGE (
+  TENANT_ID VARCHAR(64) PRIMARY KEY,
+  TASK_COUNT BIGINT NOT NULL
+);
+
+INSERT INTO TENANT_USAGE (TENANT_ID, TASK_COUNT)
+  SELECT TENANT_ID, COUNT(*) FROM TASK GROUP BY TENANT_ID;
+
+-- Idempotency keys are prefixed with the tenant
+ALTER TABLE IDEMPOTENCY_RECORD ALTER COLUMN IDEMPOTENCY_KEY SET DATA TYPE VARCHAR(320);
@@ -0,0 +1,8 @@
+-- Every task query is scoped to one tenant, so the secondary indexes lead with TENANT_ID. Title prefix
+-- filters already use UX_TASK_TENANT_TITLE_KEY, which starts with (TENANT_ID, TITLE_KEY)
+CREATE INDEX IF NOT EXISTS IX_TASK_TENANT_ID ON TASK (TENANT_ID, ID);
+CREATE INDEX IF NOT EXISTS IX_TASK_TENANT_COMPLETED_ID ON TASK (TENANT_ID, COMPLETED, ID);
+CREATE INDEX IF NOT EXISTS IX_TASK_TENANT_CHANGE_SEQ_ID ON TASK (TENANT_ID, CHANGE_SEQ, ID);
+
+DROP INDEX IF EXISTS IX_TASK_COMPLETED_ID;
+DROP INDEX IF EXISTS IX_TASK_CHANGE_SEQ_ID;
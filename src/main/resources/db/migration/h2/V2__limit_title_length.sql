@@ -0,0 +1,3 @@
+-- Match TaskDTO's @Size(max = 100) on title
+ALTER TABLE TASK ALTER COLUMN TITLE SET DATA TYPE VARCHAR(100);
+ALTER TABLE TASK ALTER COLUMN TITLE_KEY SET DATA TYPE VARCHAR(100);
@@ -0,0 +1,2 @@
+-- Keyset paging of GET /api/tasks/changes over (CHANGE_SEQ, ID)
+CREATE INDEX IF NOT EXISTS IX_TASK_CHANGE_SEQ_ID ON TASK (CHANGE_SEQ, ID);
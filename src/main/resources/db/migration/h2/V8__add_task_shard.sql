@@ -0,0 +1,10 @@
+-- H2 has no table partitioning; it gets the shard and tenant columns so the same queries run unchanged
+ALTER TABLE TASK ADD COLUMN IF NOT EXISTS SHARD INT DEFAULT 0 NOT NULL;
+ALTER TABLE TASK ADD COLUMN IF NOT EXISTS TENANT_ID VARCHAR(64) DEFAULT 'default' NOT NULL;
+
+-- Titles are unique per tenant
+DROP INDEX IF EXISTS UX_TASK_TITLE_KEY;
+CREATE UNIQUE INDEX IF NOT EXISTS UX_TASK_TENANT_TITLE_KEY ON TASK (TENANT_ID, TITLE_KEY, SHARD);
+
+-- Ids come from TaskIdGenerator now
+DROP SEQUENCE IF EXISTS TASK_SEQ;
@@ -0,0 +1,18 @@
+-- Every task query is scoped to one tenant, so the secondary indexes lead with TENANT_ID: a tenant's
+-- pages, filters, change feed and searches read only its own index entries. Indexes on a partitioned
+-- table cannot be built CONCURRENTLY, so this blocks task writes while the indexes build; run it in a
+-- maintenance window on large tables.
+CREATE INDEX IF NOT EXISTS IX_TASK_TENANT_ID ON TASK (TENANT_ID, ID);
+CREATE INDEX IF NOT EXISTS IX_TASK_TENANT_COMPLETED_ID ON TASK (TENANT_ID, COMPLETED, ID);
+CREATE INDEX IF NOT EXISTS IX_TASK_TENANT_CHANGE_SEQ_ID ON TASK (TENANT_ID, CHANGE_SEQ, ID);
+CREATE INDEX IF NOT EXISTS IX_TASK_TENANT_TITLE_KEY_PATTERN ON TASK (TENANT_ID, TITLE_KEY text_pattern_ops);
+
+-- btree_gin lets the full-text GIN index carry the tenant as well (a trusted extension, so the
+-- schema owner may create it)
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS IX_TASK_TENANT_SEARCH_VECTOR ON TASK USING GIN (TENANT_ID, SEARCH_VECTOR);
+
+DROP INDEX IF EXISTS IX_TASK_COMPLETED_ID;
+DROP INDEX IF EXISTS IX_TASK_CHANGE_SEQ_ID;
+DROP INDEX IF EXISTS IX_TASK_TITLE_KEY_PATTERN;
+DROP INDEX IF EXISTS IX_TASK_SEARCH_VECTOR;
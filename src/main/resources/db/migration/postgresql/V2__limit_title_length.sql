@@ -0,0 +1,6 @@
+-- Match TaskDTO's @Size(max = 100) on title.
+-- Postgres cannot change the type of a column a generated column reads, so a search column added by the
+-- old schema-postgresql.sql is dropped here and recreated by V3. Both steps lock TASK while they run.
+ALTER TABLE TASK DROP COLUMN IF EXISTS SEARCH_VECTOR;
+ALTER TABLE TASK ALTER COLUMN TITLE TYPE VARCHAR(100);
+ALTER TABLE TASK ALTER COLUMN TITLE_KEY TYPE VARCHAR(100);
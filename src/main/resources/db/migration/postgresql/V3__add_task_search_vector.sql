@@ -0,0 +1,3 @@
+-- Full-text search document over title and description, maintained by Postgres on every write
+ALTER TABLE TASK ADD COLUMN IF NOT EXISTS SEARCH_VECTOR TSVECTOR
+  GENERATED ALWAYS AS (to_tsvector('english', coalesce(TITLE, '') || ' ' || coalesce(DESCRIPTION, ''))) STORED;
@@ -0,0 +1,2 @@
+-- Inverted index backing GET /api/tasks/search, built without blocking writes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_TASK_SEARCH_VECTOR ON TASK USING GIN (SEARCH_VECTOR);
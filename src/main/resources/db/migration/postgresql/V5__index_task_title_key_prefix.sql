@@ -0,0 +1,3 @@
+-- Title prefix filter on GET /api/tasks/page (TITLE_KEY LIKE 'prefix%'). UX_TASK_TITLE_KEY uses the
+-- database collation and cannot serve LIKE, so add a pattern-ops index, built without blocking writes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_TASK_TITLE_KEY_PATTERN ON TASK (TITLE_KEY text_pattern_ops);
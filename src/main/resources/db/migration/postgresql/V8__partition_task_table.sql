@@ -0,0 +1,59 @@
+-- Rebuild TASK as a table partitioned by SHARD, one partition per shard. The application hashes the tenant
+-- to its shard and encodes the shard in every task id, so lookups by tenant or by id name the partition.
+-- ${taskshards} comes from todotask.partitioning.shards and is fixed from here on: changing it later means
+-- moving rows between partitions. Rewrites the table under an exclusive lock; run it in a maintenance window.
+
+-- Existing rows move to shard 0 as the default tenant's. Their sequence ids must stay below 2^22, where
+-- generated ids begin, so that TaskIdGenerator.shardOf maps them to shard 0
+DO $$
+BEGIN
+  IF EXISTS (SELECT 1 FROM TASK WHERE ID >= 4194304) THEN
+    RAISE EXCEPTION 'TASK has ids of 2^22 or more; they cannot be routed to shard 0';
+  END IF;
+END $$;
+
+ALTER TABLE TASK RENAME TO TASK_UNPARTITIONED;
+
+CREATE TABLE TASK (
+  ID BIGINT NOT NULL,
+  SHARD INT NOT NULL DEFAULT 0,
+  TENANT_ID VARCHAR(64) NOT NULL DEFAULT 'default',
+  TITLE VARCHAR(100),
+  TITLE_KEY VARCHAR(100) NOT NULL,
+  DESCRIPTION VARCHAR(255),
+  COMPLETED BOOLEAN,
+  VERSION BIGINT DEFAULT 0 NOT NULL,
+  CHANGE_SEQ BIGINT DEFAULT 0 NOT NULL,
+  LAST_MODIFIED TIMESTAMP WITH TIME ZONE,
+  SEARCH_VECTOR TSVECTOR
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(TITLE, '') || ' ' || coalesce(DESCRIPTION, ''))) STORED
+) PARTITION BY LIST (SHARD);
+
+DO $$
+BEGIN
+  FOR i IN 0..${taskshards} - 1 LOOP
+    EXECUTE format('CREATE TABLE TASK_P%s PARTITION OF TASK FOR VALUES IN (%s)', i, i);
+  END LOOP;
+END $$;
+
+INSERT INTO TASK (ID, SHARD, TENANT_ID, TITLE, TITLE_KEY, DESCRIPTION, COMPLETED, VERSION, CHANGE_SEQ, LAST_MODIFIED)
+  SELECT ID, 0, 'default', TITLE, TITLE_KEY, DESCRIPTION, COMPLETED, VERSION, CHANGE_SEQ, LAST_MODIFIED
+  FROM TASK_UNPARTITIONED;
+
+DROP TABLE TASK_UNPARTITIONED;
+
+-- Ids come from TaskIdGenerator now
+DROP SEQUENCE IF EXISTS TASK_SEQ;
+
+-- Unique and primary keys of a partitioned table must include the partition key. ID leads the primary key
+-- so a lookup by id alone is still one index probe per partition
+ALTER TABLE TASK ADD PRIMARY KEY (ID, SHARD);
+
+-- Titles are unique per tenant; a tenant's tasks all share one shard
+CREATE UNIQUE INDEX UX_TASK_TENANT_TITLE_KEY ON TASK (TENANT_ID, TITLE_KEY, SHARD);
+
+-- The indexes of the old table, recreated on every partition
+CREATE INDEX IX_TASK_COMPLETED_ID ON TASK (COMPLETED, ID);
+CREATE INDEX IX_TASK_TITLE_KEY_PATTERN ON TASK (TITLE_KEY text_pattern_ops);
+CREATE INDEX IX_TASK_CHANGE_SEQ_ID ON TASK (CHANGE_SEQ, ID);
+CREATE INDEX IX_TASK_SEARCH_VECTOR ON TASK USING GIN (SEARCH_VECTOR);
@@ -0,0 +1,15 @@
+-- Sample tasks (sequence-style ids, so they route to shard 0); included only where this location is configured
+INSERT INTO TASK (ID, TITLE, TITLE_KEY, DESCRIPTION, COMPLETED) VALUES
+  (1, 'Buy groceries', 'buy groceries', 'Milk, Bread, Eggs, and Fruits', FALSE),
+  (2, 'Finish project', 'finish project', 'Complete the Spring Boot to-do app', FALSE),
+  (3, 'Read a book', 'read a book', 'Read at least 30 pages of a novel', TRUE),
+  (4, 'Go for a run', 'go for a run', 'Jog for 30 minutes in the park', FALSE),
+  (5, 'Call mom', 'call mom', 'Weekly check-in call', TRUE),
+  (6, 'Plan vacation', 'plan vacation', 'Research destinations and book flights', FALSE),
+  (7, 'Pay bills', 'pay bills', 'Electricity, Internet, and Water bills', TRUE),
+  (8, 'Clean the house', 'clean the house', 'Vacuum and dust all rooms', FALSE),
+  (9, 'Write blog post', 'write blog post', 'Draft a new article for the tech blog', FALSE),
+  (10, 'Team meeting', 'team meeting', 'Discuss project updates with the team', TRUE),
+  (11, 'Doctor appointment', 'doctor appointment', 'Annual health checkup at 10 AM', FALSE),
+  (12, 'Update resume', 'update resume', 'Add recent projects and skills', FALSE),
+  (13, 'Backup files', 'backup files', 'Backup important documents to cloud storage', TRUE);
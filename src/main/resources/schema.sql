@@ -1,7 +0,0 @@
--- DDL for Task table
-CREATE TABLE IF NOT EXISTS TASK (
-  ID BIGSERIAL PRIMARY KEY,
-  TITLE VARCHAR(255),
-  DESCRIPTION VARCHAR(255),
-  COMPLETED BOOLEAN
-);
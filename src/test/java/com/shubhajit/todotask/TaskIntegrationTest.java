@@ -2,6 +2,9 @@ package com.shubhajit.todotask;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.shubhajit.todotask.config.CacheConfig;
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.model.TaskBatchResultDTO;
 import com.shubhajit.todotask.model.TaskDTO;
 import com.shubhajit.todotask.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -17,9 +23,11 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.util.List;
 import java.util.Objects;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "todotask.tenancy.quota.max-tasks-per-tenant.initech=2")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class TaskIntegrationTest {
 
@@ -29,6 +37,9 @@ class TaskIntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     void setUp() {
         taskRepository.deleteAll();
@@ -55,6 +66,33 @@ class TaskIntegrationTest {
         assertThat(Objects.requireNonNull(getResponse.getBody()).getTitle()).isEqualTo("Integration Task");
     }
 
+    @Test
+    void testCreateDuplicateTitleIgnoringCase() {
+        TaskDTO task = TaskDTO.builder()
+                .title("Duplicate Task")
+                .description("First")
+                .completed(false)
+                .build();
+        restTemplate.postForEntity("/api/tasks", task, TaskDTO.class);
+        task.setTitle("DUPLICATE task");
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/tasks", task, String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void testCreateTasksInBatch() {
+        List<TaskDTO> tasks = List.of(
+                TaskDTO.builder().title("Batch One").build(),
+                TaskDTO.builder().title("Batch Two").build(),
+                TaskDTO.builder().title("batch one").build());
+        ResponseEntity<TaskBatchResultDTO[]> response = restTemplate.postForEntity("/api/tasks/batch", tasks, TaskBatchResultDTO[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        TaskBatchResultDTO[] results = Objects.requireNonNull(response.getBody());
+        assertThat(results).extracting(TaskBatchResultDTO::getStatus).containsExactly(201, 201, 409);
+        assertThat(results[0].getId()).isNotNull();
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
     @Test
     void testUpdateTask() {
         TaskDTO task = TaskDTO.builder()
@@ -73,6 +111,115 @@ class TaskIntegrationTest {
         assertThat(Objects.requireNonNull(response.getBody()).getTitle()).isEqualTo("Updated Title");
     }
 
+    @Test
+    void testGetTaskIsCachedAndEvictedOnDelete() {
+        TaskDTO task = TaskDTO.builder().title("Cached Task").build();
+        TaskDTO saved = restTemplate.postForObject("/api/tasks", task, TaskDTO.class);
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.TASKS_CACHE));
+        // Entries are keyed by tenant and id (CacheConfig.TASK_KEY)
+        String key = Task.DEFAULT_TENANT + ":" + saved.getId();
+        restTemplate.getForEntity("/api/tasks/" + saved.getId(), TaskDTO.class);
+        assertThat(cache.get(key)).isNotNull();
+        restTemplate.delete("/api/tasks/" + saved.getId());
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void testConditionalRequests() {
+        TaskDTO saved = restTemplate.postForObject("/api/tasks", TaskDTO.builder().title("Versioned").build(), TaskDTO.class);
+        ResponseEntity<TaskDTO> first = restTemplate.getForEntity("/api/tasks/" + saved.getId(), TaskDTO.class);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(etag);
+        ResponseEntity<TaskDTO> notModified = restTemplate.exchange("/api/tasks/" + saved.getId(), HttpMethod.GET,
+                new HttpEntity<>(conditional), TaskDTO.class);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        HttpHeaders stale = new HttpHeaders();
+        stale.setContentType(MediaType.APPLICATION_JSON);
+        stale.setIfMatch("\"" + (saved.getVersion() + 1) + "\"");
+        saved.setTitle("Versioned again");
+        ResponseEntity<String> rejected = restTemplate.exchange("/api/tasks/" + saved.getId(), HttpMethod.PUT,
+                new HttpEntity<>(saved, stale), String.class);
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        ResponseEntity<List<TaskDTO>> list = restTemplate.exchange("/api/tasks", HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {});
+        HttpHeaders listConditional = new HttpHeaders();
+        listConditional.setIfNoneMatch(Objects.requireNonNull(list.getHeaders().getETag()));
+        ResponseEntity<String> listNotModified = restTemplate.exchange("/api/tasks", HttpMethod.GET,
+                new HttpEntity<>(listConditional), String.class);
+        assertThat(listNotModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void testCollectionEtagIsScopedToTenant() {
+        ResponseEntity<String> list = restTemplate.getForEntity("/api/tasks", String.class);
+        assertThat(list.getHeaders().getVary()).contains("Accept", "X-Tenant-Id", "Authorization");
+
+        // Another tenant's list is a different representation, so the same validator must not match it
+        HttpHeaders otherTenant = new HttpHeaders();
+        otherTenant.set("X-Tenant-Id", "acme");
+        otherTenant.setIfNoneMatch(Objects.requireNonNull(list.getHeaders().getETag()));
+        ResponseEntity<String> acmeList = restTemplate.exchange("/api/tasks", HttpMethod.GET,
+                new HttpEntity<>(otherTenant), String.class);
+        assertThat(acmeList.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(acmeList.getHeaders().getETag()).isNotEqualTo(list.getHeaders().getETag());
+    }
+
+    @Test
+    void testTasksOfOtherTenantsAreNotFound() {
+        TaskDTO saved = restTemplate.exchange("/api/tasks", HttpMethod.POST,
+                new HttpEntity<>(TaskDTO.builder().title("Acme Task").build(), tenant("acme")), TaskDTO.class).getBody();
+        assertThat(saved).isNotNull();
+        ResponseEntity<TaskDTO> own = restTemplate.exchange("/api/tasks/" + saved.getId(), HttpMethod.GET,
+                new HttpEntity<>(tenant("acme")), TaskDTO.class);
+        assertThat(own.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> other = restTemplate.exchange("/api/tasks/" + saved.getId(), HttpMethod.GET,
+                new HttpEntity<>(tenant("globex")), String.class);
+        assertThat(other.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        ResponseEntity<String> otherDelete = restTemplate.exchange("/api/tasks/" + saved.getId(), HttpMethod.DELETE,
+                new HttpEntity<>(tenant("globex")), String.class);
+        assertThat(otherDelete.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(taskRepository.existsById(saved.getId())).isTrue();
+    }
+
+    @Test
+    void testTitlesAreUniquePerTenant() {
+        TaskDTO task = TaskDTO.builder().title("Shared Title").build();
+        ResponseEntity<String> acme = restTemplate.exchange("/api/tasks", HttpMethod.POST,
+                new HttpEntity<>(task, tenant("acme")), String.class);
+        ResponseEntity<String> globex = restTemplate.exchange("/api/tasks", HttpMethod.POST,
+                new HttpEntity<>(task, tenant("globex")), String.class);
+        assertThat(acme.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(globex.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<String> duplicate = restTemplate.exchange("/api/tasks", HttpMethod.POST,
+                new HttpEntity<>(task, tenant("globex")), String.class);
+        assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void testCreatesBeyondTenantQuotaAreForbidden() {
+        for (String title : List.of("Quota One", "Quota Two")) {
+            ResponseEntity<String> created = restTemplate.exchange("/api/tasks", HttpMethod.POST,
+                    new HttpEntity<>(TaskDTO.builder().title(title).build(), tenant("initech")), String.class);
+            assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        }
+        ResponseEntity<String> overQuota = restTemplate.exchange("/api/tasks", HttpMethod.POST,
+                new HttpEntity<>(TaskDTO.builder().title("Quota Three").build(), tenant("initech")), String.class);
+        assertThat(overQuota.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(overQuota.getBody()).contains("Task quota of 2 tasks reached");
+
+        // Other tenants keep the default quota
+        ResponseEntity<String> acme = restTemplate.exchange("/api/tasks", HttpMethod.POST,
+                new HttpEntity<>(TaskDTO.builder().title("Quota Three").build(), tenant("acme")), String.class);
+        assertThat(acme.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
     @Test
     void testDeleteTask() {
         TaskDTO task = TaskDTO.builder()
@@ -86,4 +233,11 @@ class TaskIntegrationTest {
         ResponseEntity<TaskDTO> response = restTemplate.getForEntity("/api/tasks/" + saved.getId(), TaskDTO.class);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    private static HttpHeaders tenant(String tenantId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Tenant-Id", tenantId);
+        return headers;
+    }
 }
@@ -0,0 +1,52 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger poolWaiters = new AtomicInteger();
+
+    @Test
+    void testShedsAtLimitAndAdapts() {
+        LimitsProperties.Concurrency properties = new LimitsProperties.Concurrency();
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(3);
+        properties.setBackoffRatio(0.5);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, poolWaiters::get, clock::get);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        // Fast requests at the limit grow it, up to the maximum
+        limiter.release(FAST);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        limiter.release(FAST);
+        assertThat(limiter.getInFlight()).isZero();
+
+        // A slow request halves it, but only once per latency threshold
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(SLOW);
+        limiter.release(SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(1);
+
+        // Threads queueing for connections also shrink it, never below the minimum
+        clock.addAndGet(SLOW);
+        poolWaiters.set(10);
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(FAST);
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+}
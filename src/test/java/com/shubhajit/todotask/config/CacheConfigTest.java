@@ -0,0 +1,53 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.BeanFactoryCacheOperationSourceAdvisor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class CacheConfigTest {
+
+    @Autowired
+    private BeanFactoryCacheOperationSourceAdvisor cacheAdvisor;
+
+    @Autowired
+    private BeanFactoryTransactionAttributeSourceAdvisor transactionAdvisor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testCacheAdviceRunsOutsideTransactions() {
+        // Lower order is the outer advice, so the cache only sees committed writes
+        assertThat(cacheAdvisor.getOrder()).isLessThan(transactionAdvisor.getOrder());
+    }
+
+    @Test
+    void testCachePutsInsideATransactionWaitForItsCommit() {
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cache.put("cache-config-test:1", "rolled back");
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            cache.put("cache-config-test:2", "committed");
+            assertThat(cache.get("cache-config-test:2")).isNull();
+        });
+
+        assertThat(cache.get("cache-config-test:1")).isNull();
+        assertThat(cache.get("cache-config-test:2").get()).isEqualTo("committed");
+    }
+}
@@ -0,0 +1,63 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConcurrencyLimitFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        LimitsProperties.Concurrency properties = new LimitsProperties.Concurrency();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(1);
+        limiter = new AdaptiveConcurrencyLimiter(properties, () -> 0, System::nanoTime);
+        filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry().counter("tasks.limits.rejected"));
+    }
+
+    @Test
+    void testStreamedResponseHoldsPermitUntilAsyncCompletes() throws Exception {
+        MockHttpServletRequest request = asyncRequest();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(perform().getStatus()).isEqualTo(503);
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(perform().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void testEventStreamReleasesPermitOnceSubscribed() throws Exception {
+        filter.doFilter(asyncRequest(), new MockHttpServletResponse(), (req, res) -> {
+            req.startAsync();
+            res.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        });
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private MockHttpServletResponse perform() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/1"), response, (req, res) -> { });
+        return response;
+    }
+
+    private static MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
@@ -0,0 +1,46 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+class LogSamplingFilterTest {
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final Logger appLogger = loggerContext.getLogger("com.shubhajit.todotask.controller.TaskController");
+    private final Logger frameworkLogger = loggerContext.getLogger("org.springframework.web");
+    private final SampledRequestTurboFilter turboFilter = new SampledRequestTurboFilter();
+
+    @Test
+    void testUnsampledRequestSuppressesApplicationInfoOnly() throws Exception {
+        AtomicReference<FilterReply> info = new AtomicReference<>();
+        AtomicReference<FilterReply> warn = new AtomicReference<>();
+        AtomicReference<FilterReply> framework = new AtomicReference<>();
+        new LogSamplingFilter(0.0).doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    info.set(turboFilter.decide(null, appLogger, Level.INFO, "msg", null, null));
+                    warn.set(turboFilter.decide(null, appLogger, Level.WARN, "msg", null, null));
+                    framework.set(turboFilter.decide(null, frameworkLogger, Level.INFO, "msg", null, null));
+                });
+        assertThat(info.get()).isEqualTo(FilterReply.DENY);
+        assertThat(warn.get()).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(framework.get()).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(MDC.get(LogSamplingFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void testSampledRequestKeepsApplicationInfo() throws Exception {
+        AtomicReference<FilterReply> info = new AtomicReference<>();
+        new LogSamplingFilter(1.0).doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(),
+                (req, res) -> info.set(turboFilter.decide(null, appLogger, Level.INFO, "msg", null, null)));
+        assertThat(info.get()).isEqualTo(FilterReply.NEUTRAL);
+    }
+}
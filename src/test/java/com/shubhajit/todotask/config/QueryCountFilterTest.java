@@ -0,0 +1,35 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class QueryCountFilterTest {
+
+    @Test
+    void testRecordsStatementsPerRequest() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryCountInspector inspector = new QueryCountInspector();
+        QueryCountFilter filter = new QueryCountFilter(inspector, registry, 1);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tasks/{id}");
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+        });
+
+        DistributionSummary summary = registry.get("tasks.request.queries")
+                .tag("method", "GET")
+                .tag("uri", "/api/tasks/{id}")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+        assertThat(inspector.count()).isZero();
+    }
+}
@@ -0,0 +1,84 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger passed = new AtomicInteger();
+    private Counter rejected;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        LimitsProperties.EndpointCost listCost = new LimitsProperties.EndpointCost();
+        listCost.setMethod("GET");
+        listCost.setPattern("/api/tasks");
+        listCost.setCost(10);
+        LimitsProperties.Rate rate = new LimitsProperties.Rate();
+        rate.setCapacity(20);
+        rate.setRefillPerSecond(10);
+        rate.setCosts(List.of(listCost));
+        rejected = new SimpleMeterRegistry().counter("tasks.limits.rejected");
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(rate.getCapacity(), rate.getRefillPerSecond(), 100, clock::get);
+        filter = new RateLimitFilter(limiter, rate, new ObjectMapper().registerModule(new JavaTimeModule()), rejected);
+    }
+
+    @Test
+    void testWeightedCostsDrainBucket() throws Exception {
+        assertThat(perform("GET", "/api/tasks", "a").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/api/tasks", "a").getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = perform("GET", "/api/tasks", "a");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(limited.getContentAsString()).contains("Rate limit exceeded");
+        assertThat(rejected.count()).isEqualTo(1);
+
+        // Other clients have their own bucket; cheap lookups still fit after refill
+        assertThat(perform("GET", "/api/tasks", "b").getStatus()).isEqualTo(200);
+        clock.addAndGet(100_000_000L);
+        assertThat(perform("GET", "/api/tasks/1", "a").getStatus()).isEqualTo(200);
+        assertThat(passed.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testClientHeaderDoesNotPickTheBucket() throws Exception {
+        assertThat(perform("GET", "/api/tasks", "a").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/api/tasks", "a").getStatus()).isEqualTo(200);
+        // A new client id from the same address spends the same bucket
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setRemoteAddr("a");
+        request.addHeader("X-Client-Id", "fresh");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> passed.incrementAndGet());
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void testCostOf() {
+        assertThat(filter.costOf(new MockHttpServletRequest("GET", "/api/tasks"))).isEqualTo(10);
+        assertThat(filter.costOf(new MockHttpServletRequest("POST", "/api/tasks"))).isEqualTo(1);
+        assertThat(filter.costOf(new MockHttpServletRequest("GET", "/api/tasks/7"))).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> passed.incrementAndGet());
+        return response;
+    }
+}
@@ -0,0 +1,101 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = node("primary");
+        DataSource replica = node("replica");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, List.of(replica)));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> currentNode())).isEqualTo("primary");
+        // Outside a transaction nothing is known about intent, so the primary answers
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void testPinnedThreadReadsFromPrimary() {
+        ReplicaRoutingDataSource.pinToPrimary();
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("primary");
+        ReplicaRoutingDataSource.unpin();
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica");
+    }
+
+    @Test
+    void testReadYourWritesAfterSuccessfulWrite() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter("X-Client-Id", Duration.ofMinutes(1), 100);
+        List<Boolean> pinned = new ArrayList<>();
+
+        assertThat(perform(filter, "GET", "a", 200, pinned)).isFalse();
+        // Failed writes change nothing, so they do not pin
+        perform(filter, "POST", "a", 400, pinned);
+        assertThat(perform(filter, "GET", "a", 200, pinned)).isFalse();
+
+        perform(filter, "POST", "a", 201, pinned);
+        assertThat(perform(filter, "GET", "a", 200, pinned)).isTrue();
+        assertThat(perform(filter, "GET", "b", 200, pinned)).isFalse();
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+    }
+
+    private boolean perform(ReadYourWritesFilter filter, String method, String client, int status, List<Boolean> pinned)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/tasks");
+        request.addHeader("X-Client-Id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            pinned.add(ReplicaRoutingDataSource.isPinnedToPrimary());
+            response.setStatus(status);
+        });
+        return pinned.get(pinned.size() - 1);
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT NAME FROM NODE", String.class);
+    }
+
+    private static DataSource node(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS NODE (NAME VARCHAR(16))");
+        jdbc.execute("DELETE FROM NODE");
+        jdbc.update("INSERT INTO NODE (NAME) VALUES (?)", name);
+        return dataSource;
+    }
+}
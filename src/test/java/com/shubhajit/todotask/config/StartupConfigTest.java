@@ -0,0 +1,40 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shubhajit.todotask.service.TaskOutboxRelay;
+import com.shubhajit.todotask.service.TaskTombstoneCompactor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Starts the app with the lazily initialized {@code prod} profile (on H2, migrated by Flyway) and checks
+ * that background jobs nothing else depends on are still scheduled.
+ */
+@SpringBootTest(properties = "spring.flyway.enabled=true")
+@ActiveProfiles({"test", "prod"})
+class StartupConfigTest {
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTaskHolder;
+
+    @Test
+    void testScheduledJobsAreRegisteredUnderLazyInit() {
+        assertThat(scheduledTaskHolder.getScheduledTasks().stream()
+                .map(task -> task.getTask().getRunnable())
+                .filter(ScheduledMethodRunnable.class::isInstance)
+                .map(runnable -> ((ScheduledMethodRunnable) runnable).getTarget().getClass()))
+                .anyMatch(TaskOutboxRelay.class::isAssignableFrom)
+                .anyMatch(TaskTombstoneCompactor.class::isAssignableFrom);
+    }
+
+    @Test
+    void testHasScheduledMethods() {
+        assertThat(StartupConfig.hasScheduledMethods(TaskOutboxRelay.class)).isTrue();
+        assertThat(StartupConfig.hasScheduledMethods(StartupConfig.class)).isFalse();
+    }
+}
@@ -0,0 +1,75 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shubhajit.todotask.entity.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+class TenantFilterTest {
+
+    private final AtomicReference<String> seenTenant = new AtomicReference<>();
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testExposesTenantForTheRequestOnly() throws Exception {
+        MockHttpServletResponse response = perform(new TenancyProperties(), "acme");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seenTenant.get()).isEqualTo("acme");
+        assertThat(response.getHeader("Vary")).isEqualTo("X-Tenant-Id, Authorization");
+        assertThat(TenantContext.current()).isEqualTo(Task.DEFAULT_TENANT);
+    }
+
+    @Test
+    void testClearsTenantWhenTheChainFails() {
+        TenantFilter filter = new TenantFilter(new TenantResolver(new TenancyProperties()), new ObjectMapper());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("X-Tenant-Id", "acme");
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            throw new IllegalStateException("boom");
+        })).hasMessage("boom");
+        assertThat(TenantContext.current()).isEqualTo(Task.DEFAULT_TENANT);
+    }
+
+    @Test
+    void testRejectsMissingTenantWhenRequired() throws Exception {
+        TenancyProperties properties = new TenancyProperties();
+        properties.setRequired(true);
+        MockHttpServletResponse response = perform(properties, null);
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader("WWW-Authenticate")).isEqualTo("Bearer");
+        assertThat(response.getContentAsString()).contains("Request does not name a tenant");
+        assertThat(seenTenant.get()).isNull();
+    }
+
+    @Test
+    void testRejectsMalformedTenant() throws Exception {
+        MockHttpServletResponse response = perform(new TenancyProperties(), "acme corp");
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("Tenant id must be");
+        assertThat(seenTenant.get()).isNull();
+    }
+
+    private MockHttpServletResponse perform(TenancyProperties properties, String tenantId) throws Exception {
+        TenantFilter filter = new TenantFilter(new TenantResolver(properties),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        if (tenantId != null) {
+            request.addHeader("X-Tenant-Id", tenantId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> seenTenant.set(TenantContext.current()));
+        return response;
+    }
+}
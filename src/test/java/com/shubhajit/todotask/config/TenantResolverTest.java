@@ -0,0 +1,71 @@
+package com.shubhajit.todotask.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.exception.TenantUnauthorizedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+class TenantResolverTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Test
+    void testResolveFromHeader() {
+        TenantResolver resolver = new TenantResolver(new TenancyProperties());
+        assertThat(resolver.resolve(" acme ", null)).isEqualTo("acme");
+        assertThat(resolver.resolve(null, null)).isEqualTo(Task.DEFAULT_TENANT);
+        assertThatThrownBy(() -> resolver.resolve("acme corp", null)).isInstanceOf(InvalidTaskRequestException.class);
+    }
+
+    @Test
+    void testRequiredTenant() {
+        TenancyProperties properties = new TenancyProperties();
+        properties.setRequired(true);
+        TenantResolver resolver = new TenantResolver(properties);
+        assertThatThrownBy(() -> resolver.resolve("", null)).isInstanceOf(TenantUnauthorizedException.class);
+    }
+
+    @Test
+    void testResolveFromVerifiedToken() throws Exception {
+        TenancyProperties properties = new TenancyProperties();
+        properties.getJwt().setSecret(SECRET);
+        TenantResolver resolver = new TenantResolver(properties);
+
+        // The header is ignored once tokens are verified
+        assertThat(resolver.resolve("globex", "Bearer " + token(SECRET, Instant.now().plusSeconds(60)))).isEqualTo("acme");
+        assertThatThrownBy(() -> resolver.resolve(null, "Bearer " + token("fedcba9876543210fedcba9876543210", Instant.now().plusSeconds(60))))
+                .isInstanceOf(TenantUnauthorizedException.class);
+        assertThatThrownBy(() -> resolver.resolve(null, "Bearer " + token(SECRET, Instant.now().minusSeconds(600))))
+                .isInstanceOf(TenantUnauthorizedException.class);
+        assertThatThrownBy(() -> resolver.resolve(null, "Bearer not-a-token")).isInstanceOf(TenantUnauthorizedException.class);
+    }
+
+    @Test
+    void testMissingTokenIsRejectedEvenIfTenantIsOptional() {
+        TenancyProperties properties = new TenancyProperties();
+        properties.getJwt().setSecret(SECRET);
+        TenantResolver resolver = new TenantResolver(properties);
+        assertThatThrownBy(() -> resolver.resolve(null, null))
+                .isInstanceOf(TenantUnauthorizedException.class)
+                .hasMessage("Bearer token is required");
+        assertThatThrownBy(() -> resolver.resolve("acme", "Basic dXNlcjpwYXNz")).isInstanceOf(TenantUnauthorizedException.class);
+    }
+
+    private static String token(String secret, Instant expiresAt) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder().claim("tenant_id", "acme").expirationTime(Date.from(expiresAt)).build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(secret));
+        return jwt.serialize();
+    }
+}
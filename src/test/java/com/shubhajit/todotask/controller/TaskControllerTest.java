@@ -1,21 +1,42 @@
 package com.shubhajit.todotask.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubhajit.todotask.config.ReplicaRoutingDataSource;
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.exception.ChangeTokenExpiredException;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
 import com.shubhajit.todotask.exception.TaskAlreadyExistsException;
 import com.shubhajit.todotask.exception.TaskNotFoundException;
+import com.shubhajit.todotask.exception.TaskPreconditionFailedException;
+import com.shubhajit.todotask.model.TaskBatchResultDTO;
+import com.shubhajit.todotask.model.TaskChangesDTO;
 import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import com.shubhajit.todotask.model.TaskPatchDTO;
+import com.shubhajit.todotask.service.IdempotencyService;
+import com.shubhajit.todotask.service.TaskEventBroadcaster;
+import com.shubhajit.todotask.service.TaskExportService;
 import com.shubhajit.todotask.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,8 +45,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 @WebMvcTest
 class TaskControllerTest {
@@ -35,6 +63,15 @@ class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskExportService taskExportService;
+
+    @MockitoBean
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,16 +84,199 @@ class TaskControllerTest {
         task.setTitle("Test Task");
         task.setDescription("Test Description");
         task.setCompleted(false);
+        // Without a stored response, idempotent endpoints just run the write
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> new IdempotencyService.Result<>(invocation.<Supplier<?>>getArgument(4).get(), false));
     }
 
     @Test
     void testGetAllTasks() throws Exception {
-        when(taskService.getAllTasks()).thenReturn(Collections.singletonList(task));
-        mockMvc.perform(get("/api/tasks"))
+        when(taskExportService.writeTaskList(eq(Task.DEFAULT_TENANT), eq(TaskExportService.ListFormat.JSON), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    objectMapper.writeValue(invocation.<OutputStream>getArgument(2), List.of(task));
+                    return 1L;
+                });
+        MvcResult result = mockMvc.perform(get("/api/tasks"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Vary", "Accept"))
                 .andExpect(jsonPath("$[0].title").value("Test Task"));
     }
 
+    @Test
+    void testStreamedBodiesKeepPrimaryPin() throws Exception {
+        List<Boolean> pinned = new CopyOnWriteArrayList<>();
+        when(taskExportService.writeTaskList(eq(Task.DEFAULT_TENANT), eq(TaskExportService.ListFormat.JSON), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    pinned.add(ReplicaRoutingDataSource.isPinnedToPrimary());
+                    return 0L;
+                });
+        when(taskExportService.exportTasks(eq(Task.DEFAULT_TENANT), eq(TaskExportService.Format.NDJSON), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    pinned.add(ReplicaRoutingDataSource.isPinnedToPrimary());
+                    return 0L;
+                });
+        // As ReadYourWritesFilter does for a recent writer; the bodies are written on another thread
+        ReplicaRoutingDataSource.pinToPrimary();
+        MvcResult list;
+        MvcResult export;
+        try {
+            list = mockMvc.perform(get("/api/tasks")).andExpect(request().asyncStarted()).andReturn();
+            export = mockMvc.perform(get("/api/tasks/export")).andExpect(request().asyncStarted()).andReturn();
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+        mockMvc.perform(asyncDispatch(list)).andExpect(status().isOk());
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+        assertEquals(List.of(true, true), pinned);
+    }
+
+    @Test
+    void testGetAllTasks_binaryFormats() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks").accept("application/json;q=0.5, application/cbor"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        verify(taskExportService, times(1)).writeTaskList(eq(Task.DEFAULT_TENANT), eq(TaskExportService.ListFormat.CBOR), any(OutputStream.class));
+
+        result = mockMvc.perform(get("/api/tasks").accept(TaskExportService.APPLICATION_SMILE_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(content().contentType(TaskExportService.APPLICATION_SMILE_VALUE));
+
+        mockMvc.perform(get("/api/tasks").accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void testGetTaskPage() throws Exception {
+        when(taskService.getTaskPage(null, 50, true, null))
+                .thenReturn(new TaskPageDTO(Collections.singletonList(task), "Mg"));
+        mockMvc.perform(get("/api/tasks/page").param("completed", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.nextCursor").value("Mg"));
+    }
+
+    @Test
+    void testGetTaskPage_sizeTooLarge() throws Exception {
+        mockMvc.perform(get("/api/tasks/page").param("size", "501"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetTaskPage_invalidCursor() throws Exception {
+        when(taskService.getTaskPage("bad", 50, null, null))
+                .thenThrow(new InvalidTaskRequestException("Invalid cursor: bad"));
+        mockMvc.perform(get("/api/tasks/page").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bad"));
+    }
+
+    @Test
+    void testGetChanges() throws Exception {
+        when(taskService.getChanges("dG9r", 100))
+                .thenReturn(new TaskChangesDTO(Collections.singletonList(task), List.of(7L), "bmV4dA", false));
+        mockMvc.perform(get("/api/tasks/changes").param("since", "dG9r"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.deleted[0]").value("7"))
+                .andExpect(jsonPath("$.nextToken").value("bmV4dA"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void testGetChanges_expiredToken() throws Exception {
+        when(taskService.getChanges("b2xk", 100))
+                .thenThrow(new ChangeTokenExpiredException("Change token has expired, sync again without a token"));
+        mockMvc.perform(get("/api/tasks/changes").param("since", "b2xk"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void testPatchTask() throws Exception {
+        TaskDTO patched = TaskDTO.builder().id(1L).title("Test Task").description(null).version(4L).build();
+        when(taskService.patchTask(eq(1L), argThat(patch -> patch.getTitle() == null
+                && patch.getDescription() != null && patch.getDescription().isEmpty()), eq(3L))).thenReturn(patched);
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType("application/merge-patch+json")
+                        .header("If-Match", "\"3\"")
+                        .content("{\"description\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.title").value("Test Task"));
+    }
+
+    @Test
+    void testPatchTask_invalidTitle() throws Exception {
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":\"\"}"))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).patchTask(any(), any(TaskPatchDTO.class), any());
+    }
+
+    @Test
+    void testCompleteTask() throws Exception {
+        when(taskService.completeTask(1L, true)).thenReturn(TaskDTO.builder().id(1L).title("Test Task").completed(true).version(2L).build());
+        mockMvc.perform(patch("/api/tasks/1/complete"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+        when(taskService.completeTask(2L, false)).thenThrow(new TaskNotFoundException("Task not found with id: 2"));
+        mockMvc.perform(patch("/api/tasks/2/complete").param("completed", "false"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testSearchTasks() throws Exception {
+        TaskDTO dto = TaskDTO.builder().id(4L).title("Buy milk").build();
+        when(taskService.searchTasks("milk", null, 20)).thenReturn(new TaskPageDTO(List.of(dto), "MC41OjQ"));
+        mockMvc.perform(get("/api/tasks/search").param("q", "milk"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Buy milk"))
+                .andExpect(jsonPath("$.nextCursor").value("MC41OjQ"));
+    }
+
+    @Test
+    void testSearchTasks_blankQuery() throws Exception {
+        mockMvc.perform(get("/api/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).searchTasks(any(), any(), eq(20));
+    }
+
+    @Test
+    void testStreamTasks_resumesFromLastEventId() throws Exception {
+        when(taskEventBroadcaster.subscribe(41L)).thenReturn(new SseEmitter());
+        mockMvc.perform(get("/api/tasks/stream").header("Last-Event-ID", "41"))
+                .andExpect(request().asyncStarted());
+        verify(taskEventBroadcaster, times(1)).subscribe(41L);
+    }
+
+    @Test
+    void testExportTasks() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=tasks.csv"));
+        verify(taskExportService, times(1)).exportTasks(eq(Task.DEFAULT_TENANT), eq(TaskExportService.Format.CSV), any(OutputStream.class));
+    }
+
+    @Test
+    void testExportTasks_unsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported export format: xml"));
+    }
+
     @Test
     void testGetTaskById_constraintViolation() throws Exception {
         mockMvc.perform(get("/api/tasks/0"))
@@ -69,7 +289,41 @@ class TaskControllerTest {
         when(taskService.getTaskById(1L)).thenReturn(task);
         mockMvc.perform(get("/api/tasks/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(1L));
+                .andExpect(jsonPath("$.id").value("1"));
+    }
+
+    @Test
+    void testGetTaskById_poolExhausted() throws Exception {
+        when(taskService.getTaskById(1L)).thenThrow(new CannotCreateTransactionException("Connection is not available"));
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Database is busy, please retry later"));
+    }
+
+    @Test
+    void testGetTaskById_notModified() throws Exception {
+        task.setVersion(3L);
+        when(taskService.getTaskById(1L)).thenReturn(task);
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void testGetAllTasks_notModified() throws Exception {
+        when(taskService.getCollectionVersion()).thenReturn(7L);
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", "W/\"tasks-default-6-json\", \"tasks-default-7-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"tasks-default-7-json\""));
+        // The JSON validator does not match the CBOR representation
+        MvcResult result = mockMvc.perform(get("/api/tasks").accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"tasks-default-7-json\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"tasks-default-7-cbor\""));
+        verify(taskExportService, never()).writeTaskList(any(), eq(TaskExportService.ListFormat.JSON), any());
     }
 
     @Test
@@ -100,6 +354,20 @@ class TaskControllerTest {
                 .andExpect(header().string("Location", "/api/tasks/1"));
     }
 
+    @Test
+    void testCreateTask_idempotentReplay() throws Exception {
+        when(idempotencyService.execute(eq("POST /api/tasks"), eq("key-1"), any(), any(), any()))
+                .thenReturn(new IdempotencyService.Result<>(task, true));
+        mockMvc.perform(post("/api/tasks")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Location", "/api/tasks/1"));
+        verify(taskService, never()).saveTask(any(TaskDTO.class));
+    }
+
     @Test
     void testCreateTask_AlreadyExists() throws Exception {
         when(taskService.saveTask(any(TaskDTO.class)))
@@ -128,7 +396,112 @@ class TaskControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(task)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(1L));
+                .andExpect(jsonPath("$.id").value("1"));
+    }
+
+    @Test
+    void testCreateTasks() throws Exception {
+        TaskBatchResultDTO result = TaskBatchResultDTO.builder().index(0).status(201).id(1L).task(task).build();
+        when(taskService.createTasks(anyList())).thenReturn(List.of(result));
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(task))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].task.title").value("Test Task"));
+    }
+
+    @Test
+    void testCreateTasks_invalidItem() throws Exception {
+        TaskDTO invalidTask = new TaskDTO();
+        invalidTask.setTitle("");
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(task, invalidTask))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testUpdateTasks() throws Exception {
+        TaskBatchResultDTO result = TaskBatchResultDTO.builder().index(0).status(404).id(1L).error("Task not found with id: 1").build();
+        when(taskService.updateTasks(anyList())).thenReturn(List.of(result));
+        mockMvc.perform(patch("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(task))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].error").value("Task not found with id: 1"));
+    }
+
+    @Test
+    void testDeleteTasks() throws Exception {
+        TaskBatchResultDTO result = TaskBatchResultDTO.builder().index(0).status(204).id(1L).build();
+        when(taskService.deleteTasks(List.of(1L))).thenReturn(List.of(result));
+        mockMvc.perform(delete("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(204));
+    }
+
+    @Test
+    void testDeleteTasks_empty() throws Exception {
+        mockMvc.perform(delete("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testUpdateTask_ifMatch() throws Exception {
+        task.setVersion(3L);
+        when(taskService.saveTask(any(TaskDTO.class))).thenReturn(task);
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+        verify(taskService, times(1)).saveTask(argThat(dto -> dto.getVersion() == 2L));
+    }
+
+    @Test
+    void testUpdateTask_ifMatchAnyKeepsBodyVersion() throws Exception {
+        task.setVersion(2L);
+        when(taskService.saveTask(any(TaskDTO.class))).thenReturn(task);
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk());
+        verify(taskService, times(1)).saveTask(argThat(dto -> Long.valueOf(2L).equals(dto.getVersion())));
+    }
+
+    @Test
+    void testUpdateTask_ifMatchInvalid() throws Exception {
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpdateTask_staleVersion() throws Exception {
+        when(taskService.saveTask(any(TaskDTO.class)))
+                .thenThrow(new TaskPreconditionFailedException("Task 1 does not have version 2"));
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Task 1 does not have version 2"));
+    }
+
+    @Test
+    void testDeleteTask_ifMatch() throws Exception {
+        mockMvc.perform(delete("/api/tasks/1").header("If-Match", "\"4\""))
+                .andExpect(status().isNoContent());
+        verify(taskService, times(1)).deleteTask(1L, 4L);
     }
 
     @Test
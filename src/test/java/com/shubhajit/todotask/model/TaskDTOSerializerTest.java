@@ -0,0 +1,56 @@
+package com.shubhajit.todotask.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+class TaskDTOSerializerTest {
+
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    // Ignores @JsonSerialize, so TaskDTO goes through the default bean serializer
+    private final ObjectMapper beanMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(MapperFeature.USE_ANNOTATIONS)
+            .build();
+
+    @Test
+    void testMatchesBeanSerializer() throws Exception {
+        List<TaskDTO> tasks = List.of(
+                new TaskDTO(1L, "Buy \"milk\"", "Two litres\nsemi-skimmed", true, 3L, Instant.parse("2024-05-01T10:15:30.123Z")),
+                new TaskDTO(null, "New", null, false, null, null));
+        // Same fields and order as the bean serializer, except that the id is a string
+        assertEquals(beanMapper.writeValueAsString(tasks).replace("\"id\":1,", "\"id\":\"1\","),
+                mapper.writeValueAsString(tasks));
+    }
+
+    @Test
+    void testIdBeyondDoublePrecisionRoundTrips() throws Exception {
+        TaskDTO task = new TaskDTO((1L << 53) + 1, "Large", null, false, 1L, null);
+        String json = mapper.writeValueAsString(task);
+        assertEquals("\"9007199254740993\"", mapper.readTree(json).get("id").toString());
+        assertEquals(task, mapper.readValue(json, TaskDTO.class));
+        // Numeric ids are still accepted on input
+        assertEquals(7L, mapper.readValue("{\"id\":7,\"title\":\"Seven\"}", TaskDTO.class).getId());
+    }
+
+    @Test
+    void testBinaryFormat() throws Exception {
+        TaskDTO task = new TaskDTO(7L, "Task 7", "desc", false, 2L, null);
+        CBORMapper cbor = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+        assertEquals(task, cbor.readValue(cbor.writeValueAsBytes(task), TaskDTO.class));
+    }
+}
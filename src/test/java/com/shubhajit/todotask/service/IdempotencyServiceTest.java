@@ -0,0 +1,155 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubhajit.todotask.config.CacheConfig;
+import com.shubhajit.todotask.entity.IdempotencyRecord;
+import com.shubhajit.todotask.exception.IdempotencyKeyReusedException;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final TypeReference<TaskDTO> TASK_TYPE = new TypeReference<>() { };
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger writes = new AtomicInteger();
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, objectMapper, transactionManager,
+                new ConcurrentMapCacheManager(CacheConfig.IDEMPOTENCY_CACHE), Duration.ofHours(1), 2);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void testExecute_withoutKeyRunsWrite() {
+        IdempotencyService.Result<TaskDTO> result = idempotencyService.execute("POST /api/tasks", null, request(), TASK_TYPE, this::create);
+        assertEquals(1L, result.body().getId());
+        assertFalse(result.replayed());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void testExecute_retryIsReplayedFromFrontCache() {
+        when(idempotencyRecordRepository.findById("default POST /api/tasks k1")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        IdempotencyService.Result<TaskDTO> first = idempotencyService.execute("POST /api/tasks", "k1", request(), TASK_TYPE, this::create);
+        IdempotencyService.Result<TaskDTO> retry = idempotencyService.execute("POST /api/tasks", "k1", request(), TASK_TYPE, this::create);
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.body(), retry.body());
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void testExecute_storedRecordWithDifferentRequest() throws Exception {
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey("default POST /api/tasks k2")
+                .requestHash("0".repeat(64))
+                .responseBody(objectMapper.writeValueAsString(TaskDTO.builder().id(9L).title("Other").build()))
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        when(idempotencyRecordRepository.findById("default POST /api/tasks k2")).thenReturn(Optional.of(record));
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyService.execute("POST /api/tasks", "k2", request(), TASK_TYPE, this::create));
+        assertEquals(0, writes.get());
+    }
+
+    @Test
+    void testExecute_lostRaceReplaysWinner() throws Exception {
+        TaskDTO winner = TaskDTO.builder().id(5L).title("Alpha").build();
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("PK"));
+        when(idempotencyRecordRepository.findById("default POST /api/tasks k3")).thenReturn(Optional.empty()).thenAnswer(invocation ->
+                Optional.of(IdempotencyRecord.builder()
+                        .idempotencyKey("default POST /api/tasks k3")
+                        .requestHash(hashOfRequest())
+                        .responseBody(objectMapper.writeValueAsString(winner))
+                        .expiresAt(Instant.now().plusSeconds(60))
+                        .build()));
+        IdempotencyService.Result<TaskDTO> result = idempotencyService.execute("POST /api/tasks", "k3", request(), TASK_TYPE, this::create);
+        assertTrue(result.replayed());
+        assertEquals(5L, result.body().getId());
+        assertEquals(0, writes.get());
+    }
+
+    @Test
+    void testExecute_writeViolationIsNotALostRace() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("UX_TASK_TENANT_TITLE");
+        assertThrows(DataIntegrityViolationException.class, () -> idempotencyService.execute("POST /api/tasks", "k4",
+                request(), TASK_TYPE, () -> {
+                    throw violation;
+                }));
+        verify(transactionManager).rollback(any());
+        // Only the claim's own lookup: the failed write is not answered from a stored record
+        verify(idempotencyRecordRepository).findById("default POST /api/tasks k4");
+    }
+
+    @Test
+    void testExecute_invalidKey() {
+        assertThrows(InvalidTaskRequestException.class,
+                () -> idempotencyService.execute("POST /api/tasks", " ", request(), TASK_TYPE, this::create));
+        assertThrows(InvalidTaskRequestException.class,
+                () -> idempotencyService.execute("POST /api/tasks", "k".repeat(201), request(), TASK_TYPE, this::create));
+        verify(idempotencyRecordRepository, never()).findById(any());
+    }
+
+    @Test
+    void testPurgeExpired_deletesInBatches() {
+        when(idempotencyRecordRepository.deleteExpired(any(Instant.class), eq(2)))
+                .thenReturn(2, 2, 1);
+        assertEquals(5, idempotencyService.purgeExpired());
+    }
+
+    private TaskDTO create() {
+        writes.incrementAndGet();
+        return TaskDTO.builder().id(1L).title("Alpha").version(0L).build();
+    }
+
+    private static TaskDTO request() {
+        return TaskDTO.builder().title("Alpha").build();
+    }
+
+    private String hashOfRequest() throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request()));
+        return HexFormat.of().formatHex(digest);
+    }
+}
@@ -0,0 +1,92 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import com.shubhajit.todotask.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryTaskSearchEngineTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private InMemoryTaskSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        when(taskRepository.findAll()).thenReturn(List.of(
+                task(1L, "Buy groceries", "Milk, bread and more milk"),
+                task(2L, "Milk the cow", null),
+                task(3L, "Write report", "Quarterly numbers")));
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void testSearch_ranksByTermFrequency() {
+        TaskPageDTO page = search("MILK", null, 10);
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(TaskDTO::getId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testSearch_requiresAllTerms() {
+        assertEquals(List.of(1L), ids(search("milk bread", null, 10)));
+        assertTrue(search("milk unicorn", null, 10).getItems().isEmpty());
+        assertTrue(search("!!", null, 10).getItems().isEmpty());
+    }
+
+    @Test
+    void testSearch_pagesWithCursor() {
+        TaskPageDTO first = search("milk", null, 1);
+        assertEquals(List.of(1L), ids(first));
+        assertNotNull(first.getNextCursor());
+        TaskPageDTO second = search("milk", SearchCursor.decode(first.getNextCursor()), 1);
+        assertEquals(List.of(2L), ids(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testOnTaskChanged() {
+        searchEngine.onTaskChanged(TaskChangedEvent.updated(Task.DEFAULT_TENANT, 4L, TaskDTO.builder().id(3L).title("Buy milk").build()));
+        searchEngine.onTaskChanged(TaskChangedEvent.deleted(Task.DEFAULT_TENANT, 5L, 2L));
+        assertEquals(List.of(1L, 3L), ids(search("milk", null, 10)));
+        assertTrue(search("quarterly", null, 10).getItems().isEmpty());
+    }
+
+    @Test
+    void testSearch_isScopedToTenant() {
+        searchEngine.onTaskChanged(TaskChangedEvent.created("acme", 1L, TaskDTO.builder().id(4L).title("Milk run").build()));
+        assertEquals(List.of(4L), ids(searchEngine.search(1, "acme", "milk", null, 10)));
+        assertEquals(List.of(1L, 2L), ids(search("milk", null, 10)));
+        assertTrue(searchEngine.search(1, "globex", "milk", null, 10).getItems().isEmpty());
+    }
+
+    private static Task task(Long id, String title, String description) {
+        return Task.builder().id(id).tenantId(Task.DEFAULT_TENANT).title(title).description(description).build();
+    }
+
+    private TaskPageDTO search(String query, SearchCursor cursor, int size) {
+        return searchEngine.search(0, Task.DEFAULT_TENANT, query, cursor, size);
+    }
+
+    private static List<Long> ids(TaskPageDTO page) {
+        return page.getItems().stream().map(TaskDTO::getId).toList();
+    }
+}
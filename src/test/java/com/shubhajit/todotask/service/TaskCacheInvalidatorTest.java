@@ -0,0 +1,112 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shubhajit.todotask.config.CacheConfig;
+import com.shubhajit.todotask.entity.TaskChangeCounter;
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.repository.TaskChangeCounterRepository;
+import com.shubhajit.todotask.repository.TaskRepository;
+import com.shubhajit.todotask.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCacheInvalidatorTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private TaskChangeCounterRepository taskChangeCounterRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    private final TaskShardRouter taskShardRouter = new TaskShardRouter(1);
+    private Cache cache;
+    private TaskCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.TASKS_CACHE);
+        cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        invalidator = new TaskCacheInvalidator(taskChangeCounterRepository, taskRepository, taskTombstoneRepository,
+                taskShardRouter, cacheManager, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testEvictsTasksWrittenOnOtherNodes() {
+        when(taskChangeCounterRepository.findAll()).thenReturn(List.of(counter("acme", 4L, T0), counter("globex", 9L, T0)));
+        cache.put("acme:1", TaskDTO.builder().id(1L).build());
+        // The first poll reads every counter once as the baseline and drops everything cached before it
+        assertEquals(0, invalidator.invalidate());
+        assertNull(cache.get("acme:1"));
+
+        cache.put("acme:1", TaskDTO.builder().id(1L).build());
+        cache.put("acme:2", TaskDTO.builder().id(2L).build());
+        cache.put("acme:3", TaskDTO.builder().id(3L).build());
+        cache.put("globex:4", TaskDTO.builder().id(4L).build());
+        // acme was written elsewhere (task 1 updated, task 3 deleted); globex is still at its baseline count
+        when(taskChangeCounterRepository.findChangedSince(T0.minusSeconds(10))).thenReturn(
+                List.of(counter("acme", 5L, T0.plusSeconds(1)), counter("globex", 9L, T0)));
+        when(taskRepository.findIdsChangedAfter(0, "acme", 4L)).thenReturn(List.of(1L));
+        when(taskTombstoneRepository.findIdsDeletedAfter("acme", 4L)).thenReturn(List.of(3L));
+        assertEquals(1, invalidator.invalidate());
+        assertNull(cache.get("acme:1"));
+        assertNotNull(cache.get("acme:2"));
+        assertNull(cache.get("acme:3"));
+        assertNotNull(cache.get("globex:4"));
+
+        // The next poll reads from the new watermark; a tenant created since starts from 0
+        cache.put("initech:5", TaskDTO.builder().id(5L).build());
+        when(taskChangeCounterRepository.findChangedSince(T0.minusSeconds(9))).thenReturn(
+                List.of(counter("acme", 5L, T0.plusSeconds(1)), counter("initech", 1L, T0.plusSeconds(2))));
+        when(taskRepository.findIdsChangedAfter(0, "initech", 0L)).thenReturn(List.of(5L));
+        assertEquals(1, invalidator.invalidate());
+        assertNull(cache.get("initech:5"));
+        assertNotNull(cache.get("acme:2"));
+    }
+
+    @Test
+    void testSkipsTenantsWrittenOnlyOnThisNode() {
+        when(taskChangeCounterRepository.findAll()).thenReturn(List.of(counter("acme", 4L, T0)));
+        invalidator.invalidate();
+
+        invalidator.onTaskChanged(TaskChangedEvent.deleted("acme", 5L, 1L));
+        invalidator.onTaskChanged(TaskChangedEvent.deleted("acme", 6L, 2L));
+        when(taskChangeCounterRepository.findChangedSince(T0.minusSeconds(10))).thenReturn(List.of(counter("acme", 6L, T0)));
+        assertEquals(0, invalidator.invalidate());
+        verify(taskRepository, never()).findIdsChangedAfter(anyInt(), any(), anyLong());
+
+        // Change 7 came from another node, change 8 from this one: the tenant is evicted from 6 on
+        invalidator.onTaskChanged(TaskChangedEvent.deleted("acme", 8L, 3L));
+        when(taskChangeCounterRepository.findChangedSince(T0.minusSeconds(10))).thenReturn(List.of(counter("acme", 8L, T0)));
+        assertEquals(1, invalidator.invalidate());
+        verify(taskRepository).findIdsChangedAfter(0, "acme", 6L);
+    }
+
+    private static TaskChangeCounter counter(String tenantId, long changeCount, Instant lastChanged) {
+        return new TaskChangeCounter(tenantId, changeCount, 0L, lastChanged);
+    }
+}
@@ -0,0 +1,66 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shubhajit.todotask.entity.TaskChangeCounter;
+import com.shubhajit.todotask.repository.TaskChangeCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeCounterServiceTest {
+
+    @Mock
+    private TaskChangeCounterRepository taskChangeCounterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskChangeCounterService taskChangeCounterService;
+
+    @BeforeEach
+    void setUp() {
+        taskChangeCounterService = new TaskChangeCounterService(taskChangeCounterRepository, transactionManager);
+    }
+
+    @Test
+    void testRecordChange() {
+        when(taskChangeCounterRepository.increment("acme")).thenReturn(1);
+        when(taskChangeCounterRepository.findChangeCount("acme")).thenReturn(Optional.of(8L));
+        assertEquals(8L, taskChangeCounterService.recordChange("acme"));
+        verify(taskChangeCounterRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testRecordChange_createsCounterOfNewTenant() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(taskChangeCounterRepository.increment("acme")).thenReturn(0, 1);
+        // Another first write of the tenant created the row in between
+        when(taskChangeCounterRepository.saveAndFlush(any(TaskChangeCounter.class)))
+                .thenThrow(new DataIntegrityViolationException("PRIMARY KEY"));
+        when(taskChangeCounterRepository.findChangeCount("acme")).thenReturn(Optional.of(2L));
+        assertEquals(2L, taskChangeCounterService.recordChange("acme"));
+        verify(taskChangeCounterRepository, times(2)).increment("acme");
+    }
+
+    @Test
+    void testChangeCountOfUnknownTenant() {
+        when(taskChangeCounterRepository.findChangeCount("acme")).thenReturn(Optional.empty());
+        when(taskChangeCounterRepository.findCompactedSeq("acme")).thenReturn(Optional.empty());
+        assertEquals(0L, taskChangeCounterService.getChangeCount("acme"));
+        assertEquals(0L, taskChangeCounterService.getCompactedSeq("acme"));
+    }
+}
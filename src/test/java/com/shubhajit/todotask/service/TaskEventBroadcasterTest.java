@@ -0,0 +1,207 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.entity.TaskChangeCounter;
+import com.shubhajit.todotask.entity.TaskTombstone;
+import com.shubhajit.todotask.repository.TaskChangeCounterRepository;
+import com.shubhajit.todotask.repository.TaskRepository;
+import com.shubhajit.todotask.repository.TaskTombstoneRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventBroadcasterTest {
+
+    @Mock
+    private TaskChangeCounterRepository taskChangeCounterRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new TaskEventBroadcaster(new ObjectMapper(), meterRegistry, taskChangeCounterRepository,
+                taskRepository, taskTombstoneRepository, new TaskShardRouter(1), 10, 4, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testPublishesChangesCommittedOnAnyNode() throws Exception {
+        when(taskChangeCounterRepository.findById("acme")).thenReturn(Optional.of(counter("acme", 4L, 0L)));
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.subscribe(emitter, "acme", null);
+
+        when(taskChangeCounterRepository.findAllById(List.of("acme"))).thenReturn(List.of(counter("acme", 6L, 0L)));
+        when(taskRepository.findChangedAfter(eq(0), eq("acme"), eq(4L), eq(Long.MAX_VALUE), any(Limit.class)))
+                .thenReturn(List.of(task(7L, 5L, 0L), task(8L, 6L, 2L)));
+        assertEquals(2, broadcaster.poll());
+        String created = emitter.next();
+        assertTrue(created.startsWith("id:5\nevent:created\ndata:"));
+        assertTrue(created.contains("\"title\":\"Task 7\""));
+        assertTrue(created.contains("\"changeSeq\":5"));
+        assertTrue(emitter.next().startsWith("id:6\nevent:updated\n"));
+        assertEquals(1, broadcaster.subscriberCount());
+
+        // Nothing new: no change reads
+        assertEquals(0, broadcaster.poll());
+        verify(taskRepository).findChangedAfter(anyInt(), any(), anyLong(), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void testOnlyReadsChangesOfTenantsThatMoved() throws Exception {
+        when(taskChangeCounterRepository.findById("acme")).thenReturn(Optional.of(counter("acme", 1L, 0L)));
+        when(taskChangeCounterRepository.findById("globex")).thenReturn(Optional.of(counter("globex", 3L, 0L)));
+        CapturingEmitter acme = new CapturingEmitter();
+        CapturingEmitter globex = new CapturingEmitter();
+        broadcaster.subscribe(acme, "acme", null);
+        broadcaster.subscribe(globex, "globex", null);
+
+        when(taskChangeCounterRepository.findAllById(any())).thenReturn(List.of(counter("acme", 2L, 0L), counter("globex", 3L, 0L)));
+        when(taskTombstoneRepository.findDeletedAfter(eq("acme"), eq(1L), eq(Long.MAX_VALUE), any(Limit.class)))
+                .thenReturn(List.of(tombstone(8L, 2L)));
+        broadcaster.poll();
+        assertTrue(acme.next().startsWith("id:2\nevent:deleted\n"));
+        assertNull(globex.sent.poll(100, TimeUnit.MILLISECONDS));
+        verify(taskRepository, never()).findChangedAfter(anyInt(), eq("globex"), anyLong(), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void testResumesFromLastEventId() throws Exception {
+        when(taskChangeCounterRepository.findById("acme")).thenReturn(Optional.of(counter("acme", 6L, 0L)));
+        // Write 5 created task 7 and deleted task 9; write 6 updated task 8
+        when(taskRepository.findChangedAfter(eq(0), eq("acme"), eq(4L), eq(Long.MAX_VALUE), any(Limit.class)))
+                .thenReturn(List.of(task(7L, 5L, 0L), task(8L, 6L, 1L)));
+        when(taskTombstoneRepository.findDeletedAfter(eq("acme"), eq(4L), eq(Long.MAX_VALUE), any(Limit.class)))
+                .thenReturn(List.of(tombstone(9L, 5L)));
+        CapturingEmitter resumed = new CapturingEmitter();
+        broadcaster.subscribe(resumed, "acme", 4L);
+        // Only the last event of a write carries its id, so a client cut off mid-write replays all of it
+        assertTrue(resumed.next().startsWith("event:created\n"));
+        assertTrue(resumed.next().startsWith("id:5\nevent:deleted\n"));
+        assertTrue(resumed.next().startsWith("id:6\nevent:updated\n"));
+        assertNull(resumed.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testResetsWhenMissedChangesCannotBeReplayed() throws Exception {
+        // Deletions after event 4 were compacted
+        when(taskChangeCounterRepository.findById("acme")).thenReturn(Optional.of(counter("acme", 6L, 5L)));
+        CapturingEmitter compacted = new CapturingEmitter();
+        broadcaster.subscribe(compacted, "acme", 4L);
+        assertTrue(compacted.next().startsWith("id:6\nevent:reset\n"));
+
+        // More changes were missed than are replayed
+        when(taskChangeCounterRepository.findById("globex")).thenReturn(Optional.of(counter("globex", 20L, 0L)));
+        when(taskRepository.findChangedAfter(eq(0), eq("globex"), eq(0L), eq(Long.MAX_VALUE), any(Limit.class)))
+                .thenReturn(LongStream.rangeClosed(1, 11).mapToObj(seq -> task(seq, seq, 0L)).toList());
+        CapturingEmitter tooOld = new CapturingEmitter();
+        broadcaster.subscribe(tooOld, "globex", 0L);
+        assertTrue(tooOld.next().startsWith("id:20\nevent:reset\n"));
+
+        // Not an id this tenant has reached
+        CapturingEmitter unknown = new CapturingEmitter();
+        broadcaster.subscribe(unknown, "acme", 99L);
+        assertTrue(unknown.next().startsWith("id:6\nevent:reset\n"));
+    }
+
+    @Test
+    void testDropsSlowSubscriber() {
+        when(taskChangeCounterRepository.findById("acme")).thenReturn(Optional.of(counter("acme", 0L, 0L)));
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter slow = new CapturingEmitter(release);
+        broadcaster.subscribe(slow, "acme", null);
+        try {
+            when(taskChangeCounterRepository.findAllById(List.of("acme"))).thenReturn(List.of(counter("acme", 6L, 0L)));
+            when(taskRepository.findChangedAfter(eq(0), eq("acme"), eq(0L), eq(Long.MAX_VALUE), any(Limit.class)))
+                    .thenReturn(LongStream.rangeClosed(1, 6).mapToObj(seq -> task(seq, seq, 0L)).toList());
+            broadcaster.poll();
+            assertEquals(0, broadcaster.subscriberCount());
+            assertEquals(1.0, meterRegistry.counter("tasks.stream.dropped").count());
+            // The tenant has no subscribers left, so polls read nothing
+            assertEquals(0, broadcaster.poll());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static TaskChangeCounter counter(String tenantId, long changeCount, long compactedSeq) {
+        return new TaskChangeCounter(tenantId, changeCount, compactedSeq, Instant.now());
+    }
+
+    private static Task task(long id, long changeSeq, long version) {
+        return Task.builder().id(id).tenantId("acme").title("Task " + id).changeSeq(changeSeq).version(version).build();
+    }
+
+    private static TaskTombstone tombstone(long id, long changeSeq) {
+        return TaskTombstone.builder().id(id).tenantId("acme").changeSeq(changeSeq).deletedAt(Instant.now()).build();
+    }
+
+    /**
+     * Emitter that records what would be written to the response, optionally blocking like a stalled client.
+     */
+    private static class CapturingEmitter extends SseEmitter {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+
+        CapturingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        CapturingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            sent.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event);
+            return event;
+        }
+    }
+}
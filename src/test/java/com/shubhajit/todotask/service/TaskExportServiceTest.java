@@ -0,0 +1,108 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORMapper;
+import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskExportService taskExportService;
+
+    private TaskDTO first;
+    private TaskDTO second;
+
+    @BeforeEach
+    void setUp() {
+        taskExportService = new TaskExportService(taskRepository, new TaskShardRouter(4), new ObjectMapper());
+        first = TaskDTO.builder().id(1L).title("Task 1").description("desc").completed(false).build();
+        second = TaskDTO.builder().id(2L).title("Task, \"2\"").description(null).completed(true).build();
+    }
+
+    @Test
+    void testExportNdjson() throws Exception {
+        when(taskRepository.streamAllDTOs(0, Task.DEFAULT_TENANT)).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = taskExportService.exportTasks(Task.DEFAULT_TENANT, TaskExportService.Format.NDJSON, out);
+        assertEquals(2, count);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("1", new ObjectMapper().readTree(lines[0]).get("id").asText());
+        assertEquals("Task, \"2\"", new ObjectMapper().readTree(lines[1]).get("title").asText());
+    }
+
+    @Test
+    void testExportNdjson_empty() throws Exception {
+        when(taskRepository.streamAllDTOs(0, Task.DEFAULT_TENANT)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(0, taskExportService.exportTasks(Task.DEFAULT_TENANT, TaskExportService.Format.NDJSON, out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testExportCsv() throws Exception {
+        when(taskRepository.streamAllDTOs(0, Task.DEFAULT_TENANT)).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskExportService.exportTasks(Task.DEFAULT_TENANT, TaskExportService.Format.CSV, out);
+        assertEquals("id,title,description,completed\n"
+                        + "1,Task 1,desc,false\n"
+                        + "2,\"Task, \"\"2\"\"\",,true\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFormatFromParameter() {
+        assertEquals(TaskExportService.Format.NDJSON, TaskExportService.Format.fromParameter("ndjson"));
+        assertThrows(InvalidTaskRequestException.class, () -> TaskExportService.Format.fromParameter("xml"));
+    }
+
+    @Test
+    void testWriteTaskList() throws Exception {
+        when(taskRepository.streamAllDTOs(0, Task.DEFAULT_TENANT)).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, taskExportService.writeTaskList(Task.DEFAULT_TENANT, TaskExportService.ListFormat.JSON, out));
+        JsonNode tasks = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(2, tasks.size());
+        assertEquals("Task 1", tasks.get(0).get("title").asText());
+    }
+
+    @Test
+    void testWriteTaskList_cbor() throws Exception {
+        when(taskRepository.streamAllDTOs(0, Task.DEFAULT_TENANT)).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskExportService.writeTaskList(Task.DEFAULT_TENANT, TaskExportService.ListFormat.CBOR, out);
+        JsonNode tasks = new CBORMapper().readTree(out.toByteArray());
+        assertEquals(2L, tasks.get(1).get("id").asLong());
+        assertEquals(true, tasks.get(1).get("completed").asBoolean());
+    }
+
+    @Test
+    void testListFormatNegotiate() {
+        assertEquals(TaskExportService.ListFormat.JSON, TaskExportService.ListFormat.negotiate(null));
+        assertEquals(TaskExportService.ListFormat.JSON, TaskExportService.ListFormat.negotiate("*/*"));
+        assertEquals(TaskExportService.ListFormat.CBOR,
+                TaskExportService.ListFormat.negotiate("application/json;q=0.8, application/cbor"));
+        assertEquals(TaskExportService.ListFormat.SMILE,
+                TaskExportService.ListFormat.negotiate("application/x-jackson-smile, */*;q=0.1"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TaskIdGeneratorTest {
+
+    private final AtomicLong clock = new AtomicLong(TaskIdGenerator.EPOCH.toEpochMilli() + 1_000);
+
+    @Test
+    void testIdsIncrease() {
+        TaskIdGenerator generator = new TaskIdGenerator(5, clock::get);
+        long first = generator.nextId(7);
+        long second = generator.nextId(63);
+        clock.addAndGet(1);
+        long third = generator.nextId(0);
+        assertTrue(first < second && second < third);
+    }
+
+    @Test
+    void testSequenceOverflowAndClockRollbackStayUnique() {
+        TaskIdGenerator generator = new TaskIdGenerator(1, clock::get);
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+        // More ids than one millisecond's sequence holds, with the clock stepping back halfway
+        for (int i = 0; i < 5_000; i++) {
+            if (i == 2_500) {
+                clock.addAndGet(-10);
+            }
+            long id = generator.nextId(2);
+            assertTrue(id > previous);
+            ids.add(id);
+            previous = id;
+        }
+        assertEquals(5_000, ids.size());
+    }
+
+    @Test
+    void testNodesNeverCollide() {
+        long a = new TaskIdGenerator(1, clock::get).nextId(3);
+        long b = new TaskIdGenerator(2, clock::get).nextId(3);
+        assertTrue(a != b);
+    }
+
+    @Test
+    void testIdsStayAboveLegacyIds() {
+        // Ids from before partitioning are below 2^22 (checked by V8)
+        clock.set(TaskIdGenerator.EPOCH.toEpochMilli());
+        assertTrue(new TaskIdGenerator(0, clock::get).nextId(0) >= 4_194_304L);
+    }
+
+    @Test
+    void testRejectsOutOfRangeNodeAndShard() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskIdGenerator(TaskIdGenerator.MAX_NODES, clock::get));
+        TaskIdGenerator generator = new TaskIdGenerator(0, clock::get);
+        assertThrows(IllegalArgumentException.class, () -> generator.nextId(TaskIdGenerator.MAX_SHARDS));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextId(-1));
+    }
+}
@@ -0,0 +1,94 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shubhajit.todotask.entity.TaskNodeLease;
+import com.shubhajit.todotask.repository.TaskNodeLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+
+@ExtendWith(MockitoExtension.class)
+class TaskNodeLeaseServiceTest {
+
+    private static final String OWNER = "1@app-1";
+
+    @Mock
+    private TaskNodeLeaseRepository taskNodeLeaseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void testClaimsFirstFreeNode() {
+        // Node 0 is held by a live instance, node 1 has never been leased
+        when(taskNodeLeaseRepository.claim(anyInt(), eq(OWNER), any(), any())).thenReturn(0);
+        when(taskNodeLeaseRepository.saveAndFlush(any(TaskNodeLease.class)))
+                .thenThrow(new DataIntegrityViolationException("PRIMARY KEY"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        TaskNodeLeaseService leases = newService(null);
+        leases.start();
+        assertEquals(1, leases.getNodeId());
+
+        leases.stop();
+        verify(taskNodeLeaseRepository).release(1, OWNER);
+        assertThrows(IllegalStateException.class, leases::getNodeId);
+    }
+
+    @Test
+    void testReclaimsOwnOrExpiredLease() {
+        when(taskNodeLeaseRepository.claim(eq(5), eq(OWNER), any(), any())).thenReturn(1);
+        TaskNodeLeaseService leases = newService(5);
+        leases.start();
+        assertEquals(5, leases.getNodeId());
+    }
+
+    @Test
+    void testConfiguredNodeHeldByAnotherInstanceFailsStartup() {
+        when(taskNodeLeaseRepository.claim(eq(3), eq(OWNER), any(), any())).thenReturn(0);
+        when(taskNodeLeaseRepository.saveAndFlush(any(TaskNodeLease.class))).thenThrow(new DataIntegrityViolationException("PRIMARY KEY"));
+        TaskNodeLeaseService leases = newService(3);
+        assertThrows(IllegalStateException.class, leases::start);
+        assertFalse(leases.isRunning());
+    }
+
+    @Test
+    void testNothingIsLeasedBeforeStart() {
+        // The image build's training run refreshes the context without a database and never starts it
+        TaskNodeLeaseService leases = newService(null);
+        assertThrows(IllegalStateException.class, leases::getNodeId);
+        assertThrows(IllegalStateException.class, () -> new TaskIdGenerator(leases).nextId(0));
+        leases.renew();
+        verifyNoInteractions(taskNodeLeaseRepository, transactionManager);
+    }
+
+    @Test
+    void testConfiguredNodeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> newService(TaskIdGenerator.MAX_NODES));
+    }
+
+    private TaskNodeLeaseService newService(Integer nodeId) {
+        return new TaskNodeLeaseService(taskNodeLeaseRepository, transactionManager, nodeId, Duration.ofMinutes(2), OWNER);
+    }
+}
@@ -0,0 +1,91 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shubhajit.todotask.entity.TaskOutboxEvent;
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.repository.TaskOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class TaskOutboxRelayTest {
+
+    @Mock
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Mock
+    private TaskEventSink taskEventSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new TaskOutboxRelay(taskOutboxRepository, taskEventSink, transactionManager, meterRegistry, 2, 5);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void testRelay_drainsFullBatchesUntilEmpty() {
+        List<TaskOutboxEvent> first = List.of(event(1L), event(2L));
+        List<TaskOutboxEvent> second = List.of(event(3L));
+        when(taskOutboxRepository.lockNextBatch(2)).thenReturn(first, second);
+        assertEquals(3, relay.relay());
+        verify(taskEventSink).publish(first);
+        verify(taskEventSink).publish(second);
+        verify(taskOutboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(taskOutboxRepository).deleteAllByIdInBatch(List.of(3L));
+        assertEquals(3.0, meterRegistry.counter("tasks.outbox.published").count());
+        assertEquals(3, meterRegistry.timer("tasks.outbox.lag").count());
+    }
+
+    @Test
+    void testRelay_emptyOutbox() {
+        when(taskOutboxRepository.lockNextBatch(2)).thenReturn(List.of());
+        assertEquals(0, relay.relay());
+        verify(taskEventSink, never()).publish(anyList());
+    }
+
+    @Test
+    void testRelay_sinkFailureKeepsBatch() {
+        List<TaskOutboxEvent> batch = List.of(event(1L));
+        when(taskOutboxRepository.lockNextBatch(2)).thenReturn(batch);
+        doThrow(new IllegalStateException("sink down")).when(taskEventSink).publish(batch);
+        assertEquals(0, relay.relay());
+        verify(taskOutboxRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(transactionManager, times(1)).rollback(any());
+        assertEquals(1.0, meterRegistry.counter("tasks.outbox.failures").count());
+    }
+
+    private static TaskOutboxEvent event(Long id) {
+        return TaskOutboxEvent.builder()
+                .id(id)
+                .eventType(TaskChangedEvent.Type.DELETED)
+                .taskId(id)
+                .changeSeq(id)
+                .payload("{}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubhajit.todotask.entity.TaskOutboxEvent;
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.repository.TaskOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TaskOutboxWriterTest {
+
+    @Mock
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Test
+    void testOnTaskChanged_savesOutboxRow() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        TaskOutboxWriter writer = new TaskOutboxWriter(taskOutboxRepository, objectMapper);
+        writer.onTaskChanged(TaskChangedEvent.updated("acme", 5L, TaskDTO.builder().id(3L).title("Alpha").version(2L).build()));
+
+        ArgumentCaptor<TaskOutboxEvent> saved = ArgumentCaptor.forClass(TaskOutboxEvent.class);
+        verify(taskOutboxRepository).save(saved.capture());
+        assertEquals(TaskChangedEvent.Type.UPDATED, saved.getValue().getEventType());
+        assertEquals(3L, saved.getValue().getTaskId());
+        assertEquals(5L, saved.getValue().getChangeSeq());
+        assertNotNull(saved.getValue().getCreatedAt());
+        assertEquals("acme", objectMapper.readTree(saved.getValue().getPayload()).path("tenantId").asText());
+        assertEquals(5L, objectMapper.readTree(saved.getValue().getPayload()).path("changeSeq").asLong());
+        assertEquals("\"3\"", objectMapper.readTree(saved.getValue().getPayload()).path("id").toString());
+        assertEquals("Alpha", objectMapper.readTree(saved.getValue().getPayload()).path("task").path("title").asText());
+    }
+}
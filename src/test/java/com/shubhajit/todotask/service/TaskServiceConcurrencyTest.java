@@ -0,0 +1,84 @@
+package com.shubhajit.todotask.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.shubhajit.todotask.config.TenantContext;
+import com.shubhajit.todotask.model.TaskDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Writes hold their tenant's change counter row until they commit; writes of other tenants must not wait for it.
+ */
+@SpringBootTest
+class TaskServiceConcurrencyTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskChangeCounterService taskChangeCounterService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testWritesOfOtherTenantsDoNotWaitForOpenWrite() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // acme's write stays uncommitted, holding acme's counter row, until released
+            Future<TaskDTO> held = executor.submit(() -> asTenant("acme", () ->
+                    new TransactionTemplate(transactionManager).execute(status -> {
+                        TaskDTO task = taskService.saveTask(TaskDTO.builder().title("Held open").build());
+                        written.countDown();
+                        awaitQuietly(release);
+                        return task;
+                    })));
+            assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+            long before = asTenant("globex", taskService::getCollectionVersion);
+            TaskDTO other = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                    asTenant("globex", () -> taskService.saveTask(TaskDTO.builder().title("Written meanwhile").build())));
+            assertThat(other.getId()).isNotNull();
+            assertThat(asTenant("globex", taskService::getCollectionVersion)).isEqualTo(before + 1);
+
+            release.countDown();
+            assertThat(held.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+            assertThat(taskChangeCounterService.getChangeCount("acme")).isPositive();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T asTenant(String tenantId, Supplier<T> work) {
+        TenantContext.set(tenantId);
+        try {
+            return work.get();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
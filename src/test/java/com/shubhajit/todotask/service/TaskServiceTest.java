@@ -3,28 +3,62 @@ package com.shubhajit.todotask.service;
 import static com.shubhajit.todotask.mapper.TaskMapper.toDTO;
 import static com.shubhajit.todotask.mapper.TaskMapper.toEntity;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.shubhajit.todotask.config.CacheConfig;
+import com.shubhajit.todotask.config.ReplicaRoutingDataSource;
 import com.shubhajit.todotask.entity.Task;
+import com.shubhajit.todotask.entity.TaskTombstone;
+import com.shubhajit.todotask.event.TaskChangedEvent;
+import com.shubhajit.todotask.exception.ChangeTokenExpiredException;
+import com.shubhajit.todotask.exception.InvalidTaskRequestException;
+import com.shubhajit.todotask.exception.TaskAlreadyExistsException;
 import com.shubhajit.todotask.exception.TaskNotFoundException;
+import com.shubhajit.todotask.exception.TaskPreconditionFailedException;
+import com.shubhajit.todotask.exception.TaskQuotaExceededException;
+import com.shubhajit.todotask.model.TaskBatchResultDTO;
+import com.shubhajit.todotask.model.TaskChangesDTO;
 import com.shubhajit.todotask.model.TaskDTO;
+import com.shubhajit.todotask.model.TaskPageDTO;
+import com.shubhajit.todotask.model.TaskPatchDTO;
 import com.shubhajit.todotask.repository.TaskRepository;
+import com.shubhajit.todotask.repository.TaskTombstoneRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +67,30 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskChangeCounterService taskChangeCounterService;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TaskSearchEngine taskSearchEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskIdGenerator taskIdGenerator;
+
+    @Mock
+    private TaskShardRouter taskShardRouter;
+
+    @Mock
+    private TenantQuotaService tenantQuotaService;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -43,26 +101,125 @@ class TaskServiceTest {
 
     @Test
     void testGetAllTasks() {
-        when(taskRepository.findAll()).thenReturn(Arrays.asList(
-                Task.builder().id(1L).title("Task 1").description("desc").completed(false).build(),
-                Task.builder().id(2L).title("Task 2").description("desc").completed(false).build()
+        when(taskShardRouter.shardOf(Task.DEFAULT_TENANT)).thenReturn(3);
+        when(taskRepository.findAllDTOs(3, Task.DEFAULT_TENANT)).thenReturn(Arrays.asList(
+                TaskDTO.builder().id(1L).title("Task 1").description("desc").completed(false).build(),
+                TaskDTO.builder().id(2L).title("Task 2").description("desc").completed(false).build()
         ));
         List<TaskDTO> tasks = taskService.getAllTasks();
         assertEquals(2, tasks.size());
         assertEquals("Task 1", tasks.get(0).getTitle());
     }
 
+    @Test
+    void testGetTaskPage_hasNextPage() {
+        when(taskRepository.findDTOsAfter(eq(0), eq(Task.DEFAULT_TENANT), eq(0L), any(Limit.class))).thenReturn(Arrays.asList(
+                TaskDTO.builder().id(1L).title("Task 1").build(),
+                TaskDTO.builder().id(2L).title("Task 2").build(),
+                TaskDTO.builder().id(3L).title("Task 3").build()
+        ));
+        TaskPageDTO page = taskService.getTaskPage(null, 2, null, null);
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+
+        when(taskRepository.findDTOsAfterByCompletedAndTitleKeyLike(
+                eq(0), eq(Task.DEFAULT_TENANT), eq(2L), eq(true), eq("task%"), any(Limit.class)))
+                .thenReturn(List.of(TaskDTO.builder().id(3L).title("Task 3").completed(true).build()));
+        TaskPageDTO next = taskService.getTaskPage(page.getNextCursor(), 2, true, "TASK");
+        assertEquals(1, next.getItems().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testGetTaskPage_filters() {
+        when(taskRepository.findDTOsAfterByCompleted(eq(0), eq(Task.DEFAULT_TENANT), eq(0L), eq(false), any(Limit.class))).thenReturn(List.of());
+        when(taskRepository.findDTOsAfterByTitleKeyLike(eq(0), eq(Task.DEFAULT_TENANT), eq(0L), eq("buy%"), any(Limit.class))).thenReturn(List.of());
+        when(taskRepository.findDTOsAfterByTitleKeyLike(eq(0), eq(Task.DEFAULT_TENANT), eq(0L), eq("50\\%\\_off\\\\%"), any(Limit.class))).thenReturn(List.of());
+        assertTrue(taskService.getTaskPage("", 10, false, " ").getItems().isEmpty());
+        assertTrue(taskService.getTaskPage(null, 10, null, "Buy").getItems().isEmpty());
+        assertTrue(taskService.getTaskPage(null, 10, null, "50%_OFF\\").getItems().isEmpty());
+    }
+
+    @Test
+    void testGetTaskPage_invalidCursor() {
+        InvalidTaskRequestException exception = assertThrows(InvalidTaskRequestException.class, () -> {
+            taskService.getTaskPage("not-a-cursor!", 10, null, null);
+        });
+        assertEquals("Invalid cursor: not-a-cursor!", exception.getMessage());
+    }
+
+    @Test
+    void testSearchTasks() {
+        TaskPageDTO result = new TaskPageDTO(List.of(TaskDTO.builder().id(1L).title("Buy milk").build()), null);
+        SearchCursor cursor = new SearchCursor(0.5f, 7L);
+        when(taskSearchEngine.search(0, Task.DEFAULT_TENANT, "milk", cursor, 10)).thenReturn(result);
+        assertEquals(result, taskService.searchTasks(" milk ", cursor.encode(), 10));
+    }
+
+    @Test
+    void testSearchTasks_invalidCursor() {
+        assertThrows(InvalidTaskRequestException.class, () -> taskService.searchTasks("milk", "bm9wZQ", 10));
+        verify(taskSearchEngine, never()).search(anyInt(), any(), any(), any(), eq(10));
+    }
+
+    @Test
+    void testGetChanges_mergesTasksAndTombstonesInChangeOrder() {
+        when(taskChangeCounterService.getChangeCount(Task.DEFAULT_TENANT)).thenReturn(9L);
+        when(taskRepository.findChangedAfter(eq(0), eq(Task.DEFAULT_TENANT), eq(0L), eq(0L), any(Limit.class))).thenReturn(List.of(
+                Task.builder().id(4L).title("Four").changeSeq(2L).build(),
+                Task.builder().id(1L).title("One").changeSeq(7L).build()));
+        when(taskTombstoneRepository.findDeletedAfter(eq(Task.DEFAULT_TENANT), eq(0L), eq(0L), any(Limit.class))).thenReturn(List.of(
+                TaskTombstone.builder().id(2L).changeSeq(5L).build(),
+                TaskTombstone.builder().id(3L).changeSeq(8L).build()));
+        TaskChangesDTO changes = taskService.getChanges(null, 3);
+        assertEquals(List.of(4L, 1L), changes.getChanged().stream().map(TaskDTO::getId).toList());
+        assertEquals(List.of(2L), changes.getDeleted());
+        assertTrue(changes.isHasMore());
+        assertEquals(new ChangeToken(7L, 1L, 9L), ChangeToken.decode(changes.getNextToken()));
+
+        when(taskChangeCounterService.getCompactedSeq(Task.DEFAULT_TENANT)).thenReturn(0L);
+        when(taskRepository.findChangedAfter(eq(0), eq(Task.DEFAULT_TENANT), eq(7L), eq(1L), any(Limit.class))).thenReturn(List.of());
+        when(taskTombstoneRepository.findDeletedAfter(eq(Task.DEFAULT_TENANT), eq(7L), eq(1L), any(Limit.class))).thenReturn(List.of(
+                TaskTombstone.builder().id(3L).changeSeq(11L).build()));
+        TaskChangesDTO next = taskService.getChanges(changes.getNextToken(), 3);
+        assertEquals(List.of(3L), next.getDeleted());
+        assertTrue(next.getChanged().isEmpty());
+        assertEquals(new ChangeToken(11L, 3L, 11L), ChangeToken.decode(next.getNextToken()));
+        assertFalse(next.isHasMore());
+    }
+
+    @Test
+    void testGetChanges_expiredToken() {
+        when(taskChangeCounterService.getCompactedSeq(Task.DEFAULT_TENANT)).thenReturn(20L);
+        String token = new ChangeToken(12L, 3L, 15L).encode();
+        assertThrows(ChangeTokenExpiredException.class, () -> taskService.getChanges(token, 10));
+        verify(taskRepository, never()).findChangedAfter(anyInt(), any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testGetChanges_invalidToken() {
+        InvalidTaskRequestException exception = assertThrows(InvalidTaskRequestException.class, () -> {
+            taskService.getChanges("bm9wZQ", 10);
+        });
+        assertEquals("Invalid change token: bm9wZQ", exception.getMessage());
+    }
+
     @Test
     void testGetTaskById() {
-        Task entity = Task.builder().id(1L).title("Task 1").description("desc").completed(false).build();
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(entity));
+        TaskDTO dto = TaskDTO.builder().id(1L).title("Task 1").description("desc").completed(false).build();
+        // Misses are cached, so they are read from the primary rather than a possibly lagging replica
+        when(taskRepository.findDTOById(0, Task.DEFAULT_TENANT, 1L)).thenAnswer(invocation -> {
+            assertTrue(ReplicaRoutingDataSource.isPinnedToPrimary());
+            return Optional.of(dto);
+        });
         TaskDTO found = taskService.getTaskById(1L);
         assertEquals(1L, found.getId());
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
     }
 
     @Test
     void testGetTaskById_notFound() {
-        when(taskRepository.findById(2L)).thenReturn(Optional.empty());
+        when(taskRepository.findDTOById(0, Task.DEFAULT_TENANT, 2L)).thenReturn(Optional.empty());
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> {
             taskService.getTaskById(2L);
         });
@@ -73,51 +230,302 @@ class TaskServiceTest {
     void testSaveTask() {
         TaskDTO dto = TaskDTO.builder().id(null).title("New Task").description("desc").completed(false).build();
         Task savedEntity = Task.builder().id(1L).title("New Task").description("desc").completed(false).build();
-        when(taskRepository.save(any(Task.class))).thenReturn(savedEntity);
+        when(taskShardRouter.shardOf(Task.DEFAULT_TENANT)).thenReturn(3);
+        when(taskIdGenerator.nextId(3)).thenReturn(1L);
+        when(taskRepository.existsByShardAndTenantIdAndTitleKey(3, Task.DEFAULT_TENANT, "new task")).thenReturn(false);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(savedEntity);
         TaskDTO saved = taskService.saveTask(dto);
         assertEquals("New Task", saved.getTitle());
         assertEquals(1L, saved.getId());
+        verify(taskRepository).saveAndFlush(argThat((Task task) -> task.getId() == 1L && task.getShard() == 3
+                && Task.DEFAULT_TENANT.equals(task.getTenantId()) && task.isNew()));
+        verify(tenantQuotaService).reserveTasks(Task.DEFAULT_TENANT, 1);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.created(Task.DEFAULT_TENANT, 0L, saved));
     }
 
     @Test
     void testSaveTask_AlreadyExists() {
         TaskDTO dto = TaskDTO.builder().id(null).title("Duplicate").description("desc").completed(false).build();
-        Task existing = Task.builder().id(2L).title("Duplicate").description("desc").completed(false).build();
-        when(taskRepository.findAll()).thenReturn(List.of(existing));
-        com.shubhajit.todotask.exception.TaskAlreadyExistsException exception = assertThrows(com.shubhajit.todotask.exception.TaskAlreadyExistsException.class, () -> {
+        when(taskRepository.existsByShardAndTenantIdAndTitleKey(0, Task.DEFAULT_TENANT, "duplicate")).thenReturn(true);
+        TaskAlreadyExistsException exception = assertThrows(TaskAlreadyExistsException.class, () -> {
             taskService.saveTask(dto);
         });
         assertEquals("Task already exists with title: Duplicate", exception.getMessage());
     }
 
+    @Test
+    void testSaveTask_QuotaExceeded() {
+        TaskDTO dto = TaskDTO.builder().id(null).title("One too many").build();
+        doThrow(new TaskQuotaExceededException("Task quota of 10 tasks reached"))
+                .when(tenantQuotaService).reserveTasks(Task.DEFAULT_TENANT, 1);
+        assertThrows(TaskQuotaExceededException.class, () -> taskService.saveTask(dto));
+        verify(taskRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testSaveTask_UniqueViolation() {
+        TaskDTO dto = TaskDTO.builder().id(null).title("Racy").description("desc").completed(false).build();
+        when(taskRepository.existsByShardAndTenantIdAndTitleKey(0, Task.DEFAULT_TENANT, "racy")).thenReturn(false);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(new DataIntegrityViolationException("UX_TASK_TITLE_KEY"));
+        TaskAlreadyExistsException exception = assertThrows(TaskAlreadyExistsException.class, () -> {
+            taskService.saveTask(dto);
+        });
+        assertEquals("Task already exists with title: Racy", exception.getMessage());
+    }
+
+    @Test
+    void testSaveTask_idCollisionIsNotTitleConflict() {
+        TaskDTO dto = TaskDTO.builder().title("Unlucky").build();
+        when(taskRepository.existsByShardAndTenantIdAndTitleKey(0, Task.DEFAULT_TENANT, "unlucky")).thenReturn(false);
+        DataIntegrityViolationException collision = new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(), "PUBLIC.PRIMARY_KEY_2"));
+        DataIntegrityViolationException titleClash = new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(), "ux_task_tenant_title_key"));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(collision, titleClash);
+        assertSame(collision, assertThrows(DataIntegrityViolationException.class, () -> taskService.saveTask(dto)));
+        assertThrows(TaskAlreadyExistsException.class, () -> taskService.saveTask(dto));
+    }
+
     @Test
     void testSaveTask_UpdateNotFound() {
         TaskDTO dto = TaskDTO.builder().id(99L).title("Update").description("desc").completed(false).build();
-        when(taskRepository.existsById(99L)).thenReturn(false);
+        when(taskRepository.findByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 99L)).thenReturn(Optional.empty());
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> {
             taskService.saveTask(dto);
         });
         assertEquals("Task not found with id: 99", exception.getMessage());
     }
 
+    @Test
+    void testSaveTask_Update() {
+        Task existing = Task.builder().id(5L).title("Old").description("old").completed(false).version(2L).build();
+        when(taskRepository.findByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 5L)).thenReturn(Optional.of(existing));
+        when(taskRepository.saveAndFlush(existing)).thenReturn(existing);
+        when(taskChangeCounterService.recordChange(Task.DEFAULT_TENANT)).thenReturn(8L);
+        TaskDTO dto = TaskDTO.builder().id(5L).title("New").description("new").completed(true).version(2L).build();
+        TaskDTO saved = taskService.saveTask(dto);
+        assertEquals("New", saved.getTitle());
+        assertTrue(existing.isCompleted());
+        assertEquals(8L, existing.getChangeSeq());
+        assertNotNull(saved.getLastModified());
+        verify(tenantQuotaService, never()).reserveTasks(any(), anyInt());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(Task.DEFAULT_TENANT, 8L, saved));
+    }
+
+    @Test
+    void testSaveTask_UpdateStaleVersion() {
+        Task existing = Task.builder().id(5L).title("Old").version(3L).build();
+        when(taskRepository.findByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 5L)).thenReturn(Optional.of(existing));
+        TaskDTO dto = TaskDTO.builder().id(5L).title("New").version(2L).build();
+        TaskPreconditionFailedException exception = assertThrows(TaskPreconditionFailedException.class, () -> {
+            taskService.saveTask(dto);
+        });
+        assertEquals("Task 5 does not have version 2", exception.getMessage());
+        verify(taskRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testPatchTask_updatesOnlyChangedColumns() {
+        TaskPatchDTO patch = TaskPatchDTO.builder().title(Optional.of("Renamed")).description(Optional.empty()).build();
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("title", "Renamed");
+        changes.put("titleKey", "renamed");
+        changes.put("description", null);
+        when(taskRepository.patchById(0, Task.DEFAULT_TENANT, 5L, changes, 3L, 8L)).thenReturn(1);
+        Task patched = Task.builder().id(5L).title("Renamed").version(4L).build();
+        when(taskRepository.findByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 5L)).thenReturn(Optional.of(patched));
+        when(taskChangeCounterService.recordChange(Task.DEFAULT_TENANT)).thenReturn(8L);
+        TaskDTO result = taskService.patchTask(5L, patch, 3L);
+        assertEquals(4L, result.getVersion());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(Task.DEFAULT_TENANT, 8L, result));
+    }
+
+    @Test
+    void testPatchTask_missingOrStale() {
+        TaskPatchDTO patch = TaskPatchDTO.builder().completed(Optional.of(true)).build();
+        when(taskChangeCounterService.recordChange(Task.DEFAULT_TENANT)).thenReturn(1L);
+        when(taskRepository.patchById(0, Task.DEFAULT_TENANT, 5L, Map.of("completed", true), null, 1L)).thenReturn(0);
+        assertThrows(TaskNotFoundException.class, () -> taskService.patchTask(5L, patch, null));
+        when(taskRepository.patchById(0, Task.DEFAULT_TENANT, 5L, Map.of("completed", true), 2L, 1L)).thenReturn(0);
+        when(taskRepository.existsByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 5L)).thenReturn(true);
+        assertThrows(TaskPreconditionFailedException.class, () -> taskService.patchTask(5L, patch, 2L));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testPatchTask_invalidPatches() {
+        InvalidTaskRequestException exception = assertThrows(InvalidTaskRequestException.class, () -> {
+            taskService.patchTask(5L, TaskPatchDTO.builder().title(Optional.empty()).build(), null);
+        });
+        assertEquals("Title cannot be removed", exception.getMessage());
+        when(taskRepository.patchById(eq(0), eq(Task.DEFAULT_TENANT), eq(5L), any(), isNull(), anyLong())).thenThrow(new DataIntegrityViolationException("UX_TASK_TITLE_KEY"));
+        assertThrows(TaskAlreadyExistsException.class,
+                () -> taskService.patchTask(5L, TaskPatchDTO.builder().title(Optional.of("Taken")).build(), null));
+    }
+
+    @Test
+    void testPatchTask_emptyPatch() {
+        when(taskRepository.findByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 5L)).thenReturn(Optional.of(Task.builder().id(5L).title("Same").version(1L).build()));
+        assertEquals("Same", taskService.patchTask(5L, new TaskPatchDTO(), 1L).getTitle());
+        verify(taskRepository, never()).patchById(anyInt(), any(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void testCompleteTask() {
+        when(taskRepository.updateCompleted(eq(0), eq(Task.DEFAULT_TENANT), eq(5L), eq(true), eq(8L), any(Instant.class))).thenReturn(1);
+        when(taskRepository.findByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 5L)).thenReturn(Optional.of(Task.builder().id(5L).title("Done").completed(true).build()));
+        when(taskChangeCounterService.recordChange(Task.DEFAULT_TENANT)).thenReturn(8L);
+        assertTrue(taskService.completeTask(5L, true).isCompleted());
+        when(taskRepository.updateCompleted(eq(0), eq(Task.DEFAULT_TENANT), eq(6L), eq(true), eq(8L), any(Instant.class))).thenReturn(0);
+        assertThrows(TaskNotFoundException.class, () -> taskService.completeTask(6L, true));
+    }
+
+    @Test
+    void testGetCollectionVersion() {
+        when(taskChangeCounterService.getChangeCount(Task.DEFAULT_TENANT)).thenReturn(7L);
+        assertEquals(7L, taskService.getCollectionVersion());
+    }
+
+    @Test
+    void testDeleteTask_withVersion() {
+        when(taskRepository.deleteByShardAndTenantIdAndIdAndVersion(0, Task.DEFAULT_TENANT, 1L, 4L)).thenReturn(1);
+        when(taskChangeCounterService.recordChange(Task.DEFAULT_TENANT)).thenReturn(1L);
+        assertTrue(taskService.deleteTask(1L, 4L));
+        verify(taskChangeCounterService, times(1)).recordChange(Task.DEFAULT_TENANT);
+        verify(taskTombstoneRepository).saveAll(argThat((List<TaskTombstone> tombstones) -> tombstones.get(0).getId() == 1L
+                && tombstones.get(0).getChangeSeq() == 1L && Task.DEFAULT_TENANT.equals(tombstones.get(0).getTenantId())));
+        verify(tenantQuotaService).releaseTasks(Task.DEFAULT_TENANT, 1);
+    }
+
+    @Test
+    void testDeleteTask_withStaleVersion() {
+        when(taskRepository.deleteByShardAndTenantIdAndIdAndVersion(0, Task.DEFAULT_TENANT, 1L, 3L)).thenReturn(0);
+        when(taskRepository.existsByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 1L)).thenReturn(true);
+        assertThrows(TaskPreconditionFailedException.class, () -> taskService.deleteTask(1L, 3L));
+        when(taskRepository.deleteByShardAndTenantIdAndIdAndVersion(0, Task.DEFAULT_TENANT, 2L, 3L)).thenReturn(0);
+        when(taskRepository.existsByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 2L)).thenReturn(false);
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(2L, 3L));
+        verify(taskTombstoneRepository, never()).saveAll(any());
+        verify(tenantQuotaService, never()).releaseTasks(any(), anyInt());
+    }
+
     @Test
     void testDeleteTask() {
-        when(taskRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(taskRepository).deleteById(1L);
+        when(taskRepository.deleteByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 1L)).thenReturn(1);
         boolean deleted = taskService.deleteTask(1L);
         assertTrue(deleted);
-        verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskTombstoneRepository).saveAll(argThat((List<TaskTombstone> tombstones) -> tombstones.get(0).getId() == 1L));
+        verify(tenantQuotaService).releaseTasks(Task.DEFAULT_TENANT, 1);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(Task.DEFAULT_TENANT, 0L, 1L));
     }
 
     @Test
     void testDeleteTask_notFound() {
-        when(taskRepository.existsById(2L)).thenReturn(false);
+        when(taskRepository.deleteByShardAndTenantIdAndId(0, Task.DEFAULT_TENANT, 2L)).thenReturn(0);
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> {
             taskService.deleteTask(2L);
         });
         assertEquals("Task not found with id: 2", exception.getMessage());
     }
 
+    @Test
+    void testCreateTasks() {
+        List<TaskDTO> dtos = List.of(
+                TaskDTO.builder().title("Alpha").build(),
+                TaskDTO.builder().title("Beta").build(),
+                TaskDTO.builder().title("ALPHA").build(),
+                TaskDTO.builder().title("Existing").build());
+        when(taskRepository.findExistingTitleKeys(eq(0), eq(Task.DEFAULT_TENANT), any())).thenReturn(List.of("existing"));
+        when(taskIdGenerator.nextId(0)).thenReturn(101L, 102L);
+        List<TaskBatchResultDTO> results = taskService.createTasks(dtos);
+        assertEquals(List.of(201, 201, 409, 409), results.stream().map(TaskBatchResultDTO::getStatus).toList());
+        assertEquals("Alpha", results.get(0).getTask().getTitle());
+        assertEquals(101L, results.get(0).getId());
+        assertEquals(102L, results.get(1).getId());
+        assertNotNull(results.get(0).getTask().getLastModified());
+        assertEquals("Task already exists with title: Existing", results.get(3).getError());
+        verify(tenantQuotaService).reserveTasks(Task.DEFAULT_TENANT, 2);
+        verify(taskRepository, times(1)).saveAll(any());
+        verify(taskRepository, times(1)).flush();
+    }
+
+    @Test
+    void testCreateTasks_quotaExceeded() {
+        when(taskRepository.findExistingTitleKeys(eq(0), eq(Task.DEFAULT_TENANT), any())).thenReturn(List.of());
+        doThrow(new TaskQuotaExceededException("Task quota of 1 tasks reached"))
+                .when(tenantQuotaService).reserveTasks(Task.DEFAULT_TENANT, 2);
+        List<TaskDTO> dtos = List.of(TaskDTO.builder().title("Alpha").build(), TaskDTO.builder().title("Beta").build());
+        assertThrows(TaskQuotaExceededException.class, () -> taskService.createTasks(dtos));
+        verify(taskRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testCreateTasks_concurrentConflict() {
+        when(taskRepository.findExistingTitleKeys(eq(0), eq(Task.DEFAULT_TENANT), any())).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("UX_TASK_TITLE_KEY")).when(taskRepository).flush();
+        List<TaskDTO> dtos = List.of(TaskDTO.builder().title("Alpha").build());
+        assertThrows(TaskAlreadyExistsException.class, () -> taskService.createTasks(dtos));
+    }
+
+    @Test
+    void testUpdateTasks() {
+        Task one = Task.builder().id(1L).title("One").titleKey("one").build();
+        Task two = Task.builder().id(2L).title("Two").titleKey("two").build();
+        Task taken = Task.builder().id(3L).title("Taken").titleKey("taken").build();
+        when(taskRepository.findByShardAndTenantIdAndIdIn(eq(0), eq(Task.DEFAULT_TENANT), any())).thenReturn(List.of(one, two));
+        when(taskRepository.findByShardAndTenantIdAndTitleKeyIn(eq(0), eq(Task.DEFAULT_TENANT), any())).thenReturn(List.of(taken));
+        Cache cache = new ConcurrentMapCache(CacheConfig.TASKS_CACHE);
+        cache.put(CacheConfig.taskKey(Task.DEFAULT_TENANT, 1L), toDTO(one));
+        cache.put(CacheConfig.taskKey(Task.DEFAULT_TENANT, 2L), toDTO(two));
+        cache.put(CacheConfig.taskKey("acme", 1L), toDTO(one));
+        when(cacheManager.getCache(CacheConfig.TASKS_CACHE)).thenReturn(cache);
+        List<TaskDTO> dtos = Arrays.asList(
+                TaskDTO.builder().id(1L).title("One renamed").completed(true).build(),
+                TaskDTO.builder().id(2L).title("taken").build(),
+                TaskDTO.builder().id(99L).title("Missing").build(),
+                TaskDTO.builder().id(null).title("No id").build());
+        List<TaskBatchResultDTO> results = taskService.updateTasks(dtos);
+        assertEquals(List.of(200, 409, 404, 404), results.stream().map(TaskBatchResultDTO::getStatus).toList());
+        assertEquals("One renamed", one.getTitle());
+        assertTrue(one.isCompleted());
+        assertEquals("Two", two.getTitle());
+        assertEquals("Task not found with id: 99", results.get(2).getError());
+        verify(taskRepository, times(1)).flush();
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+        // Only the updated task's entry goes; the rejected one and other tenants' entries stay cached
+        assertNull(cache.get(CacheConfig.taskKey(Task.DEFAULT_TENANT, 1L)));
+        assertNotNull(cache.get(CacheConfig.taskKey(Task.DEFAULT_TENANT, 2L)));
+        assertNotNull(cache.get(CacheConfig.taskKey("acme", 1L)));
+    }
+
+    @Test
+    void testDeleteTasks() {
+        List<Long> ids = List.of(1L, 2L, 1L);
+        when(taskRepository.findExistingIds(0, Task.DEFAULT_TENANT, ids)).thenReturn(List.of(1L));
+        Cache cache = new ConcurrentMapCache(CacheConfig.TASKS_CACHE);
+        cache.put(CacheConfig.taskKey(Task.DEFAULT_TENANT, 1L), TaskDTO.builder().id(1L).build());
+        cache.put(CacheConfig.taskKey("acme", 1L), TaskDTO.builder().id(1L).build());
+        when(cacheManager.getCache(CacheConfig.TASKS_CACHE)).thenReturn(cache);
+        List<TaskBatchResultDTO> results = taskService.deleteTasks(ids);
+        assertEquals(List.of(204, 404, 404), results.stream().map(TaskBatchResultDTO::getStatus).toList());
+        verify(taskRepository, times(1)).deleteByShardAndTenantIdAndIdIn(0, Task.DEFAULT_TENANT, List.of(1L));
+        verify(taskTombstoneRepository).saveAll(argThat((List<TaskTombstone> tombstones) -> tombstones.iterator().next().getId() == 1L));
+        verify(tenantQuotaService).releaseTasks(Task.DEFAULT_TENANT, 1);
+        assertNull(cache.get(CacheConfig.taskKey(Task.DEFAULT_TENANT, 1L)));
+        assertNotNull(cache.get(CacheConfig.taskKey("acme", 1L)));
+    }
+
+    @Test
+    void testDeleteTasks_noneExist() {
+        when(taskRepository.findExistingIds(0, Task.DEFAULT_TENANT, List.of(5L))).thenReturn(List.of());
+        List<TaskBatchResultDTO> results = taskService.deleteTasks(List.of(5L));
+        assertEquals(404, results.get(0).getStatus());
+        verify(taskRepository, never()).deleteByShardAndTenantIdAndIdIn(anyInt(), any(), any());
+        verify(taskTombstoneRepository, never()).saveAll(any());
+    }
+
     @Test
     void testToDTO_NullInput() {
         assertNull(toDTO(null));
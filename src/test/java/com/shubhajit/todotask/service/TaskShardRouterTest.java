@@ -0,0 +1,29 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.shubhajit.todotask.entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class TaskShardRouterTest {
+
+    private final TaskShardRouter router = new TaskShardRouter(4);
+
+    @Test
+    void testShardOfTenant() {
+        assertEquals(0, router.shardOf(Task.DEFAULT_TENANT));
+        assertEquals(router.shardOf("acme"), router.shardOf("acme"));
+        Set<Integer> shards = IntStream.range(0, 100).mapToObj(i -> router.shardOf("tenant-" + i)).collect(Collectors.toSet());
+        assertEquals(Set.of(0, 1, 2, 3), shards);
+    }
+
+    @Test
+    void testRejectsTooManyShards() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskShardRouter(TaskIdGenerator.MAX_SHARDS + 1));
+    }
+}
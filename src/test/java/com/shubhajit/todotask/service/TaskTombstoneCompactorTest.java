@@ -0,0 +1,72 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shubhajit.todotask.entity.TaskTombstone;
+import com.shubhajit.todotask.repository.TaskChangeCounterRepository;
+import com.shubhajit.todotask.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTombstoneCompactorTest {
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TaskChangeCounterRepository taskChangeCounterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskTombstoneCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        compactor = new TaskTombstoneCompactor(taskTombstoneRepository, taskChangeCounterRepository, transactionManager,
+                Duration.ofDays(30), 2);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void testCompact_deletesInBatchesAndRaisesWatermark() {
+        when(taskTombstoneRepository.findByDeletedAtBeforeOrderByChangeSeqAsc(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(tombstone("acme", 4L, 10L), tombstone("acme", 2L, 12L)))
+                .thenReturn(List.of(tombstone("acme", 9L, 15L), tombstone("globex", 8L, 3L)))
+                .thenReturn(List.of());
+        assertEquals(4, compactor.compact());
+        verify(taskChangeCounterRepository).raiseCompactedSeq("acme", 12L);
+        verify(taskChangeCounterRepository).raiseCompactedSeq("acme", 15L);
+        verify(taskChangeCounterRepository).raiseCompactedSeq("globex", 3L);
+        verify(taskTombstoneRepository).deleteAllByIdInBatch(List.of(4L, 2L));
+        verify(taskTombstoneRepository).deleteAllByIdInBatch(List.of(9L, 8L));
+    }
+
+    @Test
+    void testCompact_nothingExpired() {
+        when(taskTombstoneRepository.findByDeletedAtBeforeOrderByChangeSeqAsc(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of());
+        assertEquals(0, compactor.compact());
+        verify(taskChangeCounterRepository, never()).raiseCompactedSeq(any(), anyLong());
+    }
+
+    private static TaskTombstone tombstone(String tenantId, long id, long changeSeq) {
+        return TaskTombstone.builder().id(id).tenantId(tenantId).changeSeq(changeSeq).deletedAt(Instant.EPOCH).build();
+    }
+}
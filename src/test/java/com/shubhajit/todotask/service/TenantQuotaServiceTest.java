@@ -0,0 +1,106 @@
+package com.shubhajit.todotask.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shubhajit.todotask.config.TenancyProperties;
+import com.shubhajit.todotask.entity.TenantUsage;
+import com.shubhajit.todotask.exception.TaskQuotaExceededException;
+import com.shubhajit.todotask.repository.TenantUsageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class TenantQuotaServiceTest {
+
+    @Mock
+    private TenantUsageRepository tenantUsageRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TenantQuotaService tenantQuotaService;
+
+    @BeforeEach
+    void setUp() {
+        TenancyProperties properties = new TenancyProperties();
+        properties.getQuota().setMaxTasks(100);
+        properties.getQuota().getMaxTasksPerTenant().put("globex", 5L);
+        tenantQuotaService = new TenantQuotaService(tenantUsageRepository, transactionManager, properties);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void testReserveTasksWithinQuota() {
+        when(tenantUsageRepository.addTasks("acme", 3, 100)).thenReturn(1);
+        tenantQuotaService.reserveTasks("acme", 3);
+        verify(tenantUsageRepository, never()).existsById(anyString());
+        verify(tenantUsageRepository, never()).saveAndFlush(any());
+
+        // Nothing to reserve: no UPDATE at all
+        tenantQuotaService.reserveTasks("acme", 0);
+        verify(tenantUsageRepository, times(1)).addTasks(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testReserveTasksOverQuota() {
+        when(tenantUsageRepository.addTasks("globex", 2, 5)).thenReturn(0);
+        when(tenantUsageRepository.existsById("globex")).thenReturn(true);
+        TaskQuotaExceededException ex = assertThrows(TaskQuotaExceededException.class,
+                () -> tenantQuotaService.reserveTasks("globex", 2));
+        assertEquals("Task quota of 5 tasks reached", ex.getMessage());
+        verify(tenantUsageRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testReserveTasksCreatesUsageOnFirstWrite() {
+        when(tenantUsageRepository.addTasks("acme", 1, 100)).thenReturn(0, 1);
+        when(tenantUsageRepository.existsById("acme")).thenReturn(false);
+        tenantQuotaService.reserveTasks("acme", 1);
+        verify(tenantUsageRepository).saveAndFlush(new TenantUsage("acme", 0));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testReserveTasksAfterLosingCreateRace() {
+        when(tenantUsageRepository.addTasks("acme", 1, 100)).thenReturn(0, 1);
+        when(tenantUsageRepository.existsById("acme")).thenReturn(false);
+        // A concurrent first write inserted the row: only the inner transaction rolls back
+        when(tenantUsageRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        tenantQuotaService.reserveTasks("acme", 1);
+        verify(transactionManager).rollback(any());
+        verify(tenantUsageRepository, times(2)).addTasks("acme", 1, 100);
+    }
+
+    @Test
+    void testReserveTasksOverQuotaOnFirstWrite() {
+        when(tenantUsageRepository.addTasks("globex", 6, 5)).thenReturn(0);
+        when(tenantUsageRepository.existsById("globex")).thenReturn(false);
+        assertThrows(TaskQuotaExceededException.class, () -> tenantQuotaService.reserveTasks("globex", 6));
+        verify(tenantUsageRepository, times(2)).addTasks("globex", 6, 5);
+    }
+
+    @Test
+    void testReleaseTasks() {
+        tenantQuotaService.releaseTasks("acme", 0);
+        verifyNoInteractions(tenantUsageRepository);
+        tenantQuotaService.releaseTasks("acme", 2);
+        verify(tenantUsageRepository).removeTasks("acme", 2);
+    }
+}